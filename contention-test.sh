@@ -0,0 +1,98 @@
+#!/bin/bash
+
+# Fires many concurrent bookings at the same slots to compare booking strategies.
+# Start the app once with BOOKING_STRATEGY=pessimistic and once with
+# BOOKING_STRATEGY=optimistic, run this script against each, and compare.
+#
+# Usage: ./contention-test.sh [slots] [requests-per-slot] [parallelism]
+
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+SLOTS="${1:-20}"
+REQUESTS_PER_SLOT="${2:-50}"
+PARALLELISM="${3:-50}"
+SPORT_CODE="${SPORT_CODE:-7061509}"
+
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+YELLOW='\033[1;33m'
+NC='\033[0m'
+
+if ! curl -s -f "$BASE_URL/venues" > /dev/null 2>&1; then
+    echo -e "${RED}❌ Server is not responding at $BASE_URL${NC}" >&2
+    exit 1
+fi
+
+echo -e "${YELLOW}Preparing venue and $SLOTS slots...${NC}" >&2
+
+VENUE_ID=$(curl -s -X POST "$BASE_URL/venues" \
+    -H "Content-Type: application/json" \
+    -d "{
+        \"name\": \"Contention Test Ground $(date +%s)\",
+        \"location\": \"Benchmark Street\",
+        \"sportCode\": \"$SPORT_CODE\"
+    }" | grep -o '"id":[0-9]*' | grep -o '[0-9]*' | head -n1)
+
+if [ -z "$VENUE_ID" ]; then
+    echo -e "${RED}❌ Failed to create venue${NC}" >&2
+    exit 1
+fi
+
+SLOT_DATE=$(date -d "+400 days" +%Y-%m-%d 2>/dev/null || date -v+400d +%Y-%m-%d)
+END_HOUR=$((SLOTS < 24 ? SLOTS : 23))
+curl -s -o /dev/null -X POST "$BASE_URL/venues/$VENUE_ID/slots/bulk" \
+    -H "Content-Type: application/json" \
+    -d "{
+        \"startDate\": \"$SLOT_DATE\",
+        \"endDate\": \"$SLOT_DATE\",
+        \"startTime\": \"00:00:00\",
+        \"endTime\": \"$(printf '%02d' $END_HOUR):00:00\",
+        \"durationMinutes\": $((END_HOUR * 60 / SLOTS)),
+        \"price\": 500.00
+    }"
+
+SLOT_IDS=$(curl -s "$BASE_URL/venues/$VENUE_ID/slots" | grep -o '"id":[0-9]*' | grep -o '[0-9]*' | head -n "$SLOTS")
+SLOT_COUNT=$(echo "$SLOT_IDS" | grep -c .)
+if [ "$SLOT_COUNT" -eq 0 ]; then
+    echo -e "${RED}❌ Failed to create slots${NC}" >&2
+    exit 1
+fi
+
+RESULTS=$(mktemp)
+REQUESTS=$(mktemp)
+for SLOT_ID in $SLOT_IDS; do
+    for i in $(seq 1 "$REQUESTS_PER_SLOT"); do
+        echo "$SLOT_ID $i"
+    done
+done | shuf > "$REQUESTS" 2>/dev/null || true
+
+TOTAL=$(wc -l < "$REQUESTS" | tr -d ' ')
+echo -e "${YELLOW}Sending $TOTAL booking requests for $SLOT_COUNT slots with parallelism $PARALLELISM...${NC}" >&2
+
+START=$(date +%s.%N)
+xargs -P "$PARALLELISM" -L 1 sh -c '
+    curl -s -o /dev/null -w "%{http_code} %{time_total}\n" -X POST "'"$BASE_URL"'/bookings" \
+        -H "Content-Type: application/json" \
+        -d "{\"slotId\": $0, \"customerName\": \"Load $1\", \"customerEmail\": \"load$1@example.com\"}"
+' < "$REQUESTS" > "$RESULTS"
+END=$(date +%s.%N)
+
+ELAPSED=$(awk "BEGIN {printf \"%.2f\", $END - $START}")
+CREATED=$(grep -c '^201 ' "$RESULTS")
+REJECTED=$(grep -cE '^(400|409) ' "$RESULTS")
+ERRORS=$((TOTAL - CREATED - REJECTED))
+P50=$(awk '{print $2}' "$RESULTS" | sort -n | awk '{a[NR]=$1} END {print a[int(NR*0.50)+1]}')
+P99=$(awk '{print $2}' "$RESULTS" | sort -n | awk '{a[NR]=$1} END {i=int(NR*0.99)+1; if (i>NR) i=NR; print a[i]}')
+
+echo "" >&2
+echo "========================================" >&2
+echo "Requests:        $TOTAL" >&2
+echo "Elapsed:         ${ELAPSED}s" >&2
+echo "Throughput:      $(awk "BEGIN {printf \"%.1f\", $TOTAL / $ELAPSED}") req/s" >&2
+echo "Latency p50/p99: ${P50}s / ${P99}s" >&2
+echo -e "Booked:          ${GREEN}$CREATED${NC} (expected $SLOT_COUNT)" >&2
+echo "Rejected:        $REJECTED" >&2
+if [ "$ERRORS" -gt 0 ] || [ "$CREATED" -ne "$SLOT_COUNT" ]; then
+    echo -e "${RED}❌ Unexpected results: $ERRORS errors${NC}" >&2
+fi
+
+rm -f "$RESULTS" "$REQUESTS"
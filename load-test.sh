@@ -0,0 +1,141 @@
+#!/bin/bash
+
+# Mixed read/write load to compare platform threads with virtual threads.
+# Traffic is 70% availability searches, 20% slot listings and 10% bookings.
+#
+# With APP_JAR set, the script starts the jar twice with the loadtest profile,
+# first on platform threads and then on virtual threads with connection
+# admission control, and prints both results. Without it, it measures the
+# instance already running at BASE_URL (start it with VIRTUAL_THREADS=true or
+# false yourself).
+#
+# Usage: ./load-test.sh [requests] [concurrency]
+#        APP_JAR=target/sports-venue-booking-1.0.0.jar ./load-test.sh 20000 400
+
+BASE_URL="${BASE_URL:-http://localhost:8080}"
+REQUESTS="${1:-5000}"
+CONCURRENCY="${2:-200}"
+SPORT_CODE="${SPORT_CODE:-7061509}"
+
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+YELLOW='\033[1;33m'
+NC='\033[0m'
+
+wait_for_server() {
+    for _ in $(seq 1 90); do
+        curl -s -f "$BASE_URL/actuator/health" > /dev/null 2>&1 && return 0
+        sleep 1
+    done
+    return 1
+}
+
+run_load() {
+    local label="$1"
+    local slot_date
+    slot_date=$(date -d "+$((RANDOM % 300 + 30)) days" +%Y-%m-%d 2>/dev/null || date -v+$((RANDOM % 300 + 30))d +%Y-%m-%d)
+
+    local venue_id
+    venue_id=$(curl -s -X POST "$BASE_URL/venues" \
+        -H "Content-Type: application/json" \
+        -d "{
+            \"name\": \"Load Test Ground $(date +%s%N)\",
+            \"location\": \"Benchmark Street\",
+            \"sportCode\": \"$SPORT_CODE\"
+        }" | grep -o '"id":[0-9]*' | grep -o '[0-9]*' | head -n1)
+    if [ -z "$venue_id" ]; then
+        echo -e "${RED}❌ Failed to create venue${NC}" >&2
+        return 1
+    fi
+
+    curl -s -o /dev/null -X POST "$BASE_URL/venues/$venue_id/slots/bulk" \
+        -H "Content-Type: application/json" \
+        -d "{
+            \"startDate\": \"$slot_date\",
+            \"endDate\": \"$slot_date\",
+            \"startTime\": \"00:00:00\",
+            \"endTime\": \"23:30:00\",
+            \"durationMinutes\": 30,
+            \"price\": 500.00
+        }"
+    local first_slot
+    first_slot=$(curl -s "$BASE_URL/venues/$venue_id/slots?limit=1" | grep -o '"id":[0-9]*' | grep -o '[0-9]*' | head -n1)
+
+    local plan results
+    plan=$(mktemp)
+    results=$(mktemp)
+    awk -v n="$REQUESTS" -v venue="$venue_id" -v slot="$first_slot" -v date="$slot_date" -v sport="$SPORT_CODE" 'BEGIN {
+        srand();
+        for (i = 1; i <= n; i++) {
+            r = rand();
+            if (r < 0.7) {
+                h = int(rand() * 23);
+                printf "GET /venues/available?sportCode=%s&date=%s&startTime=%02d:00:00&endTime=%02d:30:00\n", sport, date, h, h;
+            } else if (r < 0.9) {
+                printf "GET /venues/%s/slots?limit=50\n", venue;
+            } else {
+                printf "POST %d %d\n", slot + int(rand() * 47), i;
+            }
+        }
+    }' > "$plan"
+
+    echo -e "${YELLOW}[$label] Sending $REQUESTS requests with concurrency $CONCURRENCY...${NC}" >&2
+    local start end
+    start=$(date +%s.%N)
+    xargs -P "$CONCURRENCY" -L 1 sh -c '
+        if [ "$0" = "POST" ]; then
+            curl -s -o /dev/null -w "%{http_code} %{time_total}\n" -X POST "'"$BASE_URL"'/bookings" \
+                -H "Content-Type: application/json" \
+                -d "{\"slotId\": $1, \"customerName\": \"Load $2\", \"customerEmail\": \"load$2@example.com\"}"
+        else
+            curl -s -o /dev/null -w "%{http_code} %{time_total}\n" "'"$BASE_URL"'$1"
+        fi
+    ' < "$plan" > "$results"
+    end=$(date +%s.%N)
+
+    local elapsed ok busy errors p50 p99
+    elapsed=$(awk "BEGIN {printf \"%.2f\", $end - $start}")
+    ok=$(grep -cE '^(200|201|400|409) ' "$results")
+    busy=$(grep -c '^503 ' "$results")
+    errors=$((REQUESTS - ok - busy))
+    p50=$(awk '{print $2}' "$results" | sort -n | awk '{a[NR]=$1} END {print a[int(NR*0.50)+1]}')
+    p99=$(awk '{print $2}' "$results" | sort -n | awk '{a[NR]=$1} END {i=int(NR*0.99)+1; if (i>NR) i=NR; print a[i]}')
+
+    echo "" >&2
+    echo "======== $label ========" >&2
+    echo "Elapsed:         ${elapsed}s" >&2
+    echo "Throughput:      $(awk "BEGIN {printf \"%.1f\", $REQUESTS / $elapsed}") req/s" >&2
+    echo "Latency p50/p99: ${p50}s / ${p99}s" >&2
+    echo -e "Completed:       ${GREEN}$ok${NC}" >&2
+    echo "Shed (503):      $busy" >&2
+    if [ "$errors" -gt 0 ]; then
+        echo -e "${RED}Errors:          $errors${NC}" >&2
+    fi
+    echo "" >&2
+
+    rm -f "$plan" "$results"
+}
+
+if [ -z "$APP_JAR" ]; then
+    if ! curl -s -f "$BASE_URL/venues?limit=1" > /dev/null 2>&1; then
+        echo -e "${RED}❌ Server is not responding at $BASE_URL${NC}" >&2
+        exit 1
+    fi
+    run_load "running instance"
+    exit 0
+fi
+
+for VIRTUAL in false true; do
+    LABEL=$([ "$VIRTUAL" = "true" ] && echo "virtual threads" || echo "platform threads")
+    java -jar "$APP_JAR" --spring.profiles.active=loadtest \
+        --spring.threads.virtual.enabled=$VIRTUAL \
+        --booking.connection-admission.enabled=$VIRTUAL > "/tmp/load-test-$VIRTUAL.log" 2>&1 &
+    APP_PID=$!
+    if wait_for_server; then
+        run_load "$LABEL"
+    else
+        echo -e "${RED}❌ Application did not start, see /tmp/load-test-$VIRTUAL.log${NC}" >&2
+    fi
+    kill "$APP_PID" 2>/dev/null
+    wait "$APP_PID" 2>/dev/null
+done
@@ -0,0 +1,94 @@
+package com.stapubox.booking.service;
+
+import com.stapubox.booking.dto.AvailabilityRequest;
+import com.stapubox.booking.dto.VenueResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Availability search over a growing number of venues, each with twelve
+ * one-hour slots a day for a week. {@code indexed} is answered from the
+ * availability bitmap index; {@code database} uses times that are not whole
+ * minutes, which forces the SQL fallback for the same logical query.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class AvailabilityBenchmark {
+    private static final int DAYS = 7;
+    private static final int SLOTS_PER_DAY = 12;
+    private static final int QUERIES = 64;
+
+    @Param({"100", "1000", "5000"})
+    int venues;
+
+    private ConfigurableApplicationContext context;
+    private AvailabilityService availabilityService;
+    private AvailabilityRequest[] indexedQueries;
+    private AvailabilityRequest[] databaseQueries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("availability");
+        availabilityService = context.getBean(AvailabilityService.class);
+
+        LocalDate from = LocalDate.now().plusDays(1);
+        BenchmarkData data = new BenchmarkData(context);
+        data.seedSlots(data.seedVenues(venues), from, DAYS, SLOTS_PER_DAY, 60);
+
+        indexedQueries = new AvailabilityRequest[QUERIES];
+        databaseQueries = new AvailabilityRequest[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String sportCode = BenchmarkData.SPORT_CODES[i % BenchmarkData.SPORT_CODES.length];
+            LocalDate date = from.plusDays(i % DAYS);
+            LocalTime start = BenchmarkData.DAY_START.plusHours(i % SLOTS_PER_DAY);
+            indexedQueries[i] = request(sportCode, date, start, start.plusMinutes(45));
+            databaseQueries[i] = request(sportCode, date, start.plusSeconds(30), start.plusMinutes(45));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<VenueResponse> indexed() {
+        return availabilityService.getAvailableVenues(indexedQueries[next++ & (QUERIES - 1)]);
+    }
+
+    @Benchmark
+    public List<VenueResponse> database() {
+        return availabilityService.getAvailableVenues(databaseQueries[next++ & (QUERIES - 1)]);
+    }
+
+    private static AvailabilityRequest request(String sportCode, LocalDate date, LocalTime start, LocalTime end) {
+        AvailabilityRequest request = new AvailabilityRequest();
+        request.setSportCode(sportCode);
+        request.setDate(date);
+        request.setStartTime(start);
+        request.setEndTime(end);
+        return request;
+    }
+}
@@ -0,0 +1,41 @@
+package com.stapubox.booking.service;
+
+import com.stapubox.booking.SportsVenueBookingApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application without a web server against a private in-memory H2
+ * database in MySQL mode. The sports API points at a closed port, so startup
+ * never leaves the machine; benchmark data is seeded with {@link BenchmarkData}.
+ */
+final class BenchmarkContext {
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String database, String... overrides) {
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:" + database + ";MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.hikari.maximum-pool-size=32",
+                "--spring.jpa.hibernate.ddl-auto=create",
+                "--spring.jpa.show-sql=false",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--sports.api.url=http://127.0.0.1:9/",
+                "--sports.catalog.refresh-interval=PT24H",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.com.stapubox.booking=WARN"));
+        args.addAll(List.of(overrides));
+        return new SpringApplicationBuilder(SportsVenueBookingApplication.class)
+                .run(args.toArray(String[]::new));
+    }
+}
@@ -0,0 +1,130 @@
+package com.stapubox.booking.service;
+
+import com.stapubox.booking.dto.BulkSlotRequest;
+import com.stapubox.booking.model.Booking;
+import com.stapubox.booking.model.Booking.BookingStatus;
+import com.stapubox.booking.model.Slot;
+import com.stapubox.booking.model.Sport;
+import com.stapubox.booking.model.Venue;
+import com.stapubox.booking.repository.SportRepository;
+import com.stapubox.booking.repository.VenueRepository;
+import org.springframework.context.ApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Deterministic data generators for the benchmarks. Venues are spread round
+ * robin over {@link #SPORT_CODES}; slots go through the bulk slot endpoint's
+ * service method so the in-memory indexes see them exactly as in production.
+ */
+final class BenchmarkData {
+    static final String[] SPORT_CODES = {"bench-football", "bench-cricket", "bench-tennis", "bench-badminton"};
+    static final LocalTime DAY_START = LocalTime.of(6, 0);
+    /** Venues are scattered over a square of {@link #SPREAD_DEGREES} (about 55 km) centred here. */
+    static final double CENTER_LATITUDE = 12.97;
+    static final double CENTER_LONGITUDE = 77.59;
+    static final double SPREAD_DEGREES = 0.5;
+
+    private final SportRepository sportRepository;
+    private final VenueRepository venueRepository;
+    private final SlotService slotService;
+
+    BenchmarkData(ApplicationContext context) {
+        this.sportRepository = context.getBean(SportRepository.class);
+        this.venueRepository = context.getBean(VenueRepository.class);
+        this.slotService = context.getBean(SlotService.class);
+    }
+
+    List<Venue> seedVenues(int count) {
+        return seedVenues(count, i -> null);
+    }
+
+    List<Venue> seedVenues(int count, IntFunction<String> description) {
+        List<Sport> sports = new ArrayList<>();
+        for (String code : SPORT_CODES) {
+            sports.add(sportRepository.findByCode(code).orElseGet(() -> sportRepository.save(new Sport(null, code, code, null))));
+        }
+        List<Venue> venues = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Sport sport = sports.get(i % sports.size());
+            Venue venue = new Venue();
+            venue.setName("Venue " + i);
+            venue.setLocation("Sector " + (i % 50) + ", Bench City");
+            venue.setSportCode(sport.getCode());
+            venue.setSport(sport);
+            venue.setCapacity(10 + i % 40);
+            venue.setDescription(description.apply(i));
+            // Additive recurrences with irrational steps fill the square evenly without randomness.
+            venue.setLatitude(CENTER_LATITUDE + SPREAD_DEGREES * ((i * 0.6180339887) % 1 - 0.5));
+            venue.setLongitude(CENTER_LONGITUDE + SPREAD_DEGREES * ((i * 0.7548776662) % 1 - 0.5));
+            venues.add(venue);
+        }
+        return venueRepository.saveAll(venues);
+    }
+
+    /**
+     * Gives every venue {@code slotsPerDay} back-to-back slots of
+     * {@code durationMinutes} from {@link #DAY_START} on each of {@code days}
+     * days starting at {@code from}.
+     */
+    void seedSlots(List<Venue> venues, LocalDate from, int days, int slotsPerDay, int durationMinutes) {
+        BulkSlotRequest request = new BulkSlotRequest();
+        request.setStartDate(from);
+        request.setEndDate(from.plusDays(days - 1L));
+        request.setStartTime(DAY_START);
+        request.setEndTime(DAY_START.plusMinutes((long) slotsPerDay * durationMinutes));
+        request.setDurationMinutes(durationMinutes);
+        request.setPrice(500.0);
+        for (Venue venue : venues) {
+            slotService.createSlots(venue.getId(), request);
+        }
+    }
+
+    /** Detached entity graphs for mapper benchmarks; nothing is persisted. */
+    static List<Booking> detachedBookings(int count) {
+        Sport sport = new Sport(1L, SPORT_CODES[0], SPORT_CODES[0], null);
+        LocalDateTime now = LocalDateTime.of(2024, 1, 15, 10, 30);
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Venue venue = new Venue();
+            venue.setId((long) i / 12);
+            venue.setName("Venue " + venue.getId());
+            venue.setLocation("Sector " + (i % 50) + ", Bench City");
+            venue.setSportCode(sport.getCode());
+            venue.setSport(sport);
+            venue.setDescription("Floodlit turf with changing rooms");
+            venue.setCapacity(22);
+            venue.setCreatedAt(now);
+            venue.setUpdatedAt(now);
+
+            Slot slot = new Slot();
+            slot.setId((long) i);
+            slot.setVenue(venue);
+            slot.setSlotDate(LocalDate.of(2024, 1, 15).plusDays(i % 30));
+            slot.setStartTime(DAY_START.plusMinutes(60L * (i % 12)));
+            slot.setEndTime(slot.getStartTime().plusMinutes(60));
+            slot.setPrice(500.0);
+            slot.setIsAvailable(false);
+            slot.setCreatedAt(now);
+            slot.setUpdatedAt(now);
+
+            Booking booking = new Booking();
+            booking.setId((long) i);
+            booking.setSlot(slot);
+            booking.setCustomerName("Customer " + i);
+            booking.setCustomerEmail("customer" + i + "@example.com");
+            booking.setCustomerPhone("98765" + String.format("%05d", i % 100_000));
+            booking.setStatus(BookingStatus.CONFIRMED);
+            booking.setTotalAmount(500.0);
+            booking.setCreatedAt(now);
+            booking.setUpdatedAt(now);
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+}
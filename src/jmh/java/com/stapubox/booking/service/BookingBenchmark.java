@@ -0,0 +1,117 @@
+package com.stapubox.booking.service;
+
+import com.stapubox.booking.dto.BookingRequest;
+import com.stapubox.booking.exception.SlotBusyException;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Booking throughput with eight client threads. Consecutive attempts are
+ * dealt out to the same slot {@code contenders} at a time, so with
+ * {@code contenders=8} every slot is fought over by all threads at once and
+ * all but one attempt must be rejected. Bookings are wiped before each
+ * iteration; the slot pool is sized so an iteration does not run out.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(8)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BookingBenchmark {
+    private static final int VENUES = 200;
+    private static final int DAYS = 14;
+    private static final int SLOTS_PER_DAY = 16;
+
+    @Param({"pessimistic", "optimistic"})
+    String strategy;
+
+    @Param({"true", "false"})
+    boolean admission;
+
+    @Param({"1", "8"})
+    int contenders;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private SlotAdmissionGate slotAdmissionGate;
+    private JdbcTemplate jdbcTemplate;
+    private long[] slotIds;
+    private final AtomicLong tickets = new AtomicLong();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long booked;
+        public long rejected;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("booking",
+                "--booking.strategy=" + strategy,
+                "--booking.admission.enabled=" + admission);
+        bookingService = context.getBean(BookingService.class);
+        slotAdmissionGate = context.getBean(SlotAdmissionGate.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        BenchmarkData data = new BenchmarkData(context);
+        data.seedSlots(data.seedVenues(VENUES), LocalDate.now().plusDays(1), DAYS, SLOTS_PER_DAY, 60);
+        slotIds = jdbcTemplate.queryForList("SELECT id FROM slots ORDER BY id", Long.class).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    @Setup(Level.Iteration)
+    public void releaseSlots() {
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("UPDATE slots SET is_available = TRUE");
+        // Two rotations drop both generations of the sold-out bitmap.
+        slotAdmissionGate.expireSoldOut();
+        slotAdmissionGate.expireSoldOut();
+        tickets.set(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object book(Outcomes outcomes) {
+        long ticket = tickets.getAndIncrement();
+        BookingRequest request = new BookingRequest();
+        request.setSlotId(slotIds[(int) ((ticket / contenders) % slotIds.length)]);
+        request.setCustomerName("Bench Customer");
+        request.setCustomerEmail("bench" + ticket + "@example.com");
+        request.setCustomerPhone("9876543210");
+        try {
+            Object response = bookingService.createBooking(request);
+            outcomes.booked++;
+            return response;
+        } catch (IllegalArgumentException | IllegalStateException | SlotBusyException e) {
+            outcomes.rejected++;
+            return e;
+        }
+    }
+}
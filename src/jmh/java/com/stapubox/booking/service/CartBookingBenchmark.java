@@ -0,0 +1,108 @@
+package com.stapubox.booking.service;
+
+import com.stapubox.booking.dto.BatchBookingRequest;
+import com.stapubox.booking.dto.BookingRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of booking a cart of {@code cartSize} consecutive slots, either with
+ * one batch request or with one booking request per slot. Each invocation
+ * books the next unused run of slots; bookings are wiped before each iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CartBookingBenchmark {
+    private static final int VENUES = 200;
+    private static final int DAYS = 14;
+    private static final int SLOTS_PER_DAY = 16;
+
+    @Param({"1", "4", "16"})
+    int cartSize;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private SlotAdmissionGate slotAdmissionGate;
+    private JdbcTemplate jdbcTemplate;
+    private List<Long> slotIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("cart");
+        bookingService = context.getBean(BookingService.class);
+        slotAdmissionGate = context.getBean(SlotAdmissionGate.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        BenchmarkData data = new BenchmarkData(context);
+        data.seedSlots(data.seedVenues(VENUES), LocalDate.now().plusDays(1), DAYS, SLOTS_PER_DAY, 60);
+        slotIds = jdbcTemplate.queryForList("SELECT id FROM slots ORDER BY id", Long.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void releaseSlots() {
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("UPDATE slots SET is_available = TRUE");
+        slotAdmissionGate.expireSoldOut();
+        slotAdmissionGate.expireSoldOut();
+        next = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object batch() {
+        BatchBookingRequest request = new BatchBookingRequest();
+        request.setSlotIds(nextCart());
+        request.setCustomerName("Bench Customer");
+        request.setCustomerEmail("bench@example.com");
+        return bookingService.createBookings(request);
+    }
+
+    @Benchmark
+    public Object oneByOne() {
+        List<Object> responses = new ArrayList<>(cartSize);
+        for (Long slotId : nextCart()) {
+            BookingRequest request = new BookingRequest();
+            request.setSlotId(slotId);
+            request.setCustomerName("Bench Customer");
+            request.setCustomerEmail("bench@example.com");
+            responses.add(bookingService.createBooking(request));
+        }
+        return responses;
+    }
+
+    private List<Long> nextCart() {
+        if (next + cartSize > slotIds.size()) {
+            throw new IllegalStateException("Slot pool exhausted; lower the iteration time or raise VENUES");
+        }
+        List<Long> cart = slotIds.subList(next, next + cartSize);
+        next += cartSize;
+        return cart;
+    }
+}
@@ -0,0 +1,121 @@
+package com.stapubox.booking.service;
+
+import com.stapubox.booking.dto.AvailabilityRequest;
+import com.stapubox.booking.dto.VenueResponse;
+import com.stapubox.booking.index.VenueGeoIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ten nearest available venues to points spread over the seeded area,
+ * for one sport. {@code nearest} asks the service in nearest-K mode, which
+ * walks the geo index outwards and checks availability per venue;
+ * {@code sortAll} runs the plain availability search and sorts every match by
+ * distance, which is what the endpoint offered before. {@code radius} returns
+ * everything available within 2 km.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GeoSearchBenchmark {
+    private static final int SLOTS_PER_DAY = 12;
+    private static final int QUERIES = 64;
+    private static final int NEAREST = 10;
+
+    @Param({"1000", "10000"})
+    int venues;
+
+    private ConfigurableApplicationContext context;
+    private AvailabilityService availabilityService;
+    private AvailabilityRequest[] nearestQueries;
+    private AvailabilityRequest[] radiusQueries;
+    private AvailabilityRequest[] plainQueries;
+    private double[][] points;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("geo-search");
+        availabilityService = context.getBean(AvailabilityService.class);
+
+        LocalDate date = LocalDate.now().plusDays(1);
+        BenchmarkData data = new BenchmarkData(context);
+        data.seedSlots(data.seedVenues(venues), date, 1, SLOTS_PER_DAY, 60);
+        // Venues seeded straight through the repository publish no events.
+        context.getBean(VenueGeoIndex.class).rebuild();
+
+        nearestQueries = new AvailabilityRequest[QUERIES];
+        radiusQueries = new AvailabilityRequest[QUERIES];
+        plainQueries = new AvailabilityRequest[QUERIES];
+        points = new double[QUERIES][];
+        for (int i = 0; i < QUERIES; i++) {
+            LocalTime start = BenchmarkData.DAY_START.plusHours(i % SLOTS_PER_DAY);
+            double latitude = BenchmarkData.CENTER_LATITUDE + BenchmarkData.SPREAD_DEGREES * ((i * 0.37) % 1 - 0.5);
+            double longitude = BenchmarkData.CENTER_LONGITUDE + BenchmarkData.SPREAD_DEGREES * ((i * 0.59) % 1 - 0.5);
+            plainQueries[i] = request(date, start, null, null);
+            points[i] = new double[] {latitude, longitude};
+            nearestQueries[i] = request(date, start, latitude, longitude);
+            nearestQueries[i].setLimit(NEAREST);
+            radiusQueries[i] = request(date, start, latitude, longitude);
+            radiusQueries[i].setRadiusKm(2.0);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<VenueResponse> nearest() {
+        return availabilityService.getAvailableVenues(nearestQueries[next++ & (QUERIES - 1)]);
+    }
+
+    @Benchmark
+    public List<VenueResponse> radius() {
+        return availabilityService.getAvailableVenues(radiusQueries[next++ & (QUERIES - 1)]);
+    }
+
+    @Benchmark
+    public List<VenueResponse> sortAll() {
+        int query = next++ & (QUERIES - 1);
+        double[] point = points[query];
+        return availabilityService.getAvailableVenues(plainQueries[query]).stream()
+                .sorted(Comparator.comparingDouble(venue -> VenueGeoIndex.distanceKm(point[0], point[1],
+                        venue.latitude(), venue.longitude())))
+                .limit(NEAREST)
+                .toList();
+    }
+
+    private static AvailabilityRequest request(LocalDate date, LocalTime start, Double latitude, Double longitude) {
+        AvailabilityRequest request = new AvailabilityRequest();
+        request.setSportCode(BenchmarkData.SPORT_CODES[0]);
+        request.setDate(date);
+        request.setStartTime(start);
+        request.setEndTime(start.plusMinutes(45));
+        request.setLatitude(latitude);
+        request.setLongitude(longitude);
+        return request;
+    }
+}
@@ -0,0 +1,110 @@
+package com.stapubox.booking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.stapubox.booking.dto.SlotResponse;
+import com.stapubox.booking.repository.SlotRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One {@code GET /venues/{id}/slots} response, from query to JSON bytes, for
+ * a venue with {@code rows} slots. {@code entityMapped} is the old pipeline:
+ * load managed entities, map them to DTOs and serialize with Jackson's bean
+ * serializers. {@code projected} is the current one: a constructor
+ * projection straight into records, written by the hand-built serializers.
+ * Run with {@code -prof gc}; {@code gc.alloc.rate.norm} is bytes allocated
+ * per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ListResponseBenchmark {
+    private static final int SLOTS_PER_DAY = 20;
+
+    @Param({"100", "1000"})
+    int rows;
+
+    private ConfigurableApplicationContext context;
+    private SlotService slotService;
+    private SlotRepository slotRepository;
+    private TransactionTemplate readOnly;
+    private ObjectMapper objectMapper;
+    private ObjectMapper beanMapper;
+    private Long venueId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("list-responses");
+        slotService = context.getBean(SlotService.class);
+        slotRepository = context.getBean(SlotRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        objectMapper = context.getBean(ObjectMapper.class);
+        // Spring Boot's defaults without the response serializers.
+        beanMapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        BenchmarkData data = new BenchmarkData(context);
+        var venues = data.seedVenues(1);
+        data.seedSlots(venues, LocalDate.now().plusDays(1), rows / SLOTS_PER_DAY, SLOTS_PER_DAY, 30);
+        venueId = venues.get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int entityMapped() {
+        List<SlotResponse> slots = readOnly.execute(status -> slotRepository.findByVenueId(venueId).stream()
+                .map(slotService::mapToResponse)
+                .toList());
+        write(beanMapper, slots);
+        return slots.size();
+    }
+
+    @Benchmark
+    public int projected() {
+        List<SlotResponse> slots = slotService.getSlotsByVenue(venueId);
+        write(objectMapper, slots);
+        return slots.size();
+    }
+
+    private static void write(ObjectMapper mapper, List<SlotResponse> slots) {
+        try {
+            mapper.writeValue(OutputStream.nullOutputStream(), slots);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
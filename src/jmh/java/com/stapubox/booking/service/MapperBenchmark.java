@@ -0,0 +1,80 @@
+package com.stapubox.booking.service;
+
+import com.stapubox.booking.model.Booking;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping cost per entity, measured over detached entity graphs
+ * so no database or lazy loading is involved. Run with {@code -prof gc} to see
+ * allocation per mapped entity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MapperBenchmark {
+    private static final int ENTITIES = 1000;
+
+    private ConfigurableApplicationContext context;
+    private BookingService bookingService;
+    private SlotService slotService;
+    private VenueService venueService;
+    private List<Booking> bookings;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("mappers");
+        bookingService = context.getBean(BookingService.class);
+        slotService = context.getBean(SlotService.class);
+        venueService = context.getBean(VenueService.class);
+        bookings = BenchmarkData.detachedBookings(ENTITIES);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTITIES)
+    public void bookings(Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            blackhole.consume(bookingService.mapToResponse(booking));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTITIES)
+    public void slots(Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            blackhole.consume(slotService.mapToResponse(booking.getSlot()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ENTITIES)
+    public void venues(Blackhole blackhole) {
+        for (Booking booking : bookings) {
+            blackhole.consume(venueService.mapToResponse(booking.getSlot().getVenue()));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.stapubox.booking.service;
+
+import com.stapubox.booking.dto.SlotRequest;
+import com.stapubox.booking.model.Venue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code SlotService.createSlot} against venues that already have
+ * {@code slotsPerDay} slots a day. {@code rejectOverlapping} asks for a slot
+ * straddling two existing ones; {@code createFree} inserts one-minute slots in
+ * the free early-morning window, so each call passes every overlap check.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SlotOverlapBenchmark {
+    private static final int VENUES = 50;
+    private static final int DAYS = 7;
+    private static final int FREE_MINUTES_PER_DAY = BenchmarkData.DAY_START.toSecondOfDay() / 60;
+    /** Minutes per day covered by seeded slots, from DAY_START. */
+    private static final int BOOKABLE_MINUTES = 960;
+
+    @Param({"12", "96"})
+    int slotsPerDay;
+
+    private ConfigurableApplicationContext context;
+    private SlotService slotService;
+    private long[] venueIds;
+    private LocalDate from;
+    private int overlapCursor;
+    private long freeCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("slots");
+        slotService = context.getBean(SlotService.class);
+
+        from = LocalDate.now().plusDays(1);
+        BenchmarkData data = new BenchmarkData(context);
+        List<Venue> venues = data.seedVenues(VENUES);
+        data.seedSlots(venues, from, DAYS, slotsPerDay, BOOKABLE_MINUTES / slotsPerDay);
+        venueIds = venues.stream().mapToLong(Venue::getId).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object rejectOverlapping() {
+        int i = overlapCursor++;
+        int duration = BOOKABLE_MINUTES / slotsPerDay;
+        LocalTime start = BenchmarkData.DAY_START.plusMinutes((long) (i % (slotsPerDay - 1)) * duration + duration / 2);
+        try {
+            return slotService.createSlot(venueIds[i % VENUES], request(from.plusDays(i % DAYS), start, start.plusMinutes(duration)));
+        } catch (IllegalArgumentException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object createFree() {
+        long n = freeCursor++;
+        long k = n / VENUES;
+        LocalTime start = LocalTime.MIDNIGHT.plusMinutes(k % FREE_MINUTES_PER_DAY);
+        LocalDate date = from.plusDays(k / FREE_MINUTES_PER_DAY);
+        return slotService.createSlot(venueIds[(int) (n % VENUES)], request(date, start, start.plusMinutes(1)));
+    }
+
+    private static SlotRequest request(LocalDate date, LocalTime start, LocalTime end) {
+        SlotRequest request = new SlotRequest();
+        request.setSlotDate(date);
+        request.setStartTime(start);
+        request.setEndTime(end);
+        request.setPrice(500.0);
+        return request;
+    }
+}
@@ -0,0 +1,115 @@
+package com.stapubox.booking.service;
+
+import com.stapubox.booking.dto.VenueResponse;
+import com.stapubox.booking.dto.VenueSearchRequest;
+import com.stapubox.booking.index.VenueTextIndex;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyword search over venues with generated six-word descriptions.
+ * {@code indexed} goes through the text index, {@code suggest} completes a
+ * two-letter prefix, and {@code likeScan} is the {@code LIKE '%word%'} query
+ * the index replaces, for the first word of the same queries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class TextSearchBenchmark {
+    private static final String[] WORDS = {
+            "floodlit", "turf", "covered", "indoor", "outdoor", "parking", "changing", "rooms", "cafe", "coaching",
+            "synthetic", "clay", "grass", "wooden", "court", "pitch", "showers", "lockers", "spectator", "stand",
+            "rooftop", "academy", "beginner", "friendly", "professional", "lighting", "seating", "premium", "budget",
+            "weekend", "night", "matches", "tournament", "equipment", "rental", "family", "corporate", "league"};
+    private static final String[] QUERIES = {
+            "floodlit turf", "cov", "sector 12 parking", "indoor wooden court", "pro", "night matches", "acad",
+            "tournament lockers"};
+
+    @Param({"10000", "50000"})
+    int venues;
+
+    private ConfigurableApplicationContext context;
+    private VenueSearchService venueSearchService;
+    private EntityManagerFactory entityManagerFactory;
+    private VenueSearchRequest[] requests;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("text-search");
+        venueSearchService = context.getBean(VenueSearchService.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        new BenchmarkData(context).seedVenues(venues, TextSearchBenchmark::description);
+        // Venues seeded straight through the repository publish no events.
+        context.getBean(VenueTextIndex.class).rebuild();
+
+        requests = new VenueSearchRequest[QUERIES.length];
+        for (int i = 0; i < QUERIES.length; i++) {
+            requests[i] = new VenueSearchRequest();
+            requests[i].setQ(QUERIES[i]);
+            requests[i].setSportCode(i % 2 == 0 ? BenchmarkData.SPORT_CODES[i % BenchmarkData.SPORT_CODES.length] : null);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<VenueResponse> indexed() {
+        return venueSearchService.search(requests[next++ % requests.length]);
+    }
+
+    @Benchmark
+    public List<String> suggest() {
+        return venueSearchService.suggest(QUERIES[next++ % QUERIES.length].substring(0, 2), 10);
+    }
+
+    @Benchmark
+    public List<Long> likeScan() {
+        VenueSearchRequest request = requests[next++ % requests.length];
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery("SELECT v.id FROM Venue v WHERE lower(v.name) LIKE :word " +
+                            "OR lower(v.location) LIKE :word OR lower(v.description) LIKE :word ORDER BY v.id", Long.class)
+                    .setParameter("word", "%" + request.getQ().split(" ")[0] + "%")
+                    .setMaxResults(request.getLimit())
+                    .getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private static String description(int i) {
+        StringBuilder description = new StringBuilder();
+        long state = i * 0x9E3779B97F4A7C15L + 1;
+        for (int word = 0; word < 6; word++) {
+            state ^= state << 13;
+            state ^= state >>> 7;
+            state ^= state << 17;
+            description.append(word == 0 ? "" : " ").append(WORDS[(int) Math.floorMod(state, (long) WORDS.length)]);
+        }
+        return description.toString();
+    }
+}
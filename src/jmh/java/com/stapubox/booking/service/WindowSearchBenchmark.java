@@ -0,0 +1,99 @@
+package com.stapubox.booking.service;
+
+import com.stapubox.booking.dto.AvailabilityWindowRequest;
+import com.stapubox.booking.dto.SlotResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Any evening this week": the first 50 one-hour openings between 18:00 and
+ * 22:00 over seven days, for one sport, with every venue holding sixteen
+ * one-hour slots a day. {@code byTime} and {@code byPrice} are the two sort
+ * orders of the window search; {@code weekends} restricts it to Saturday and
+ * Sunday.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class WindowSearchBenchmark {
+    private static final int DAYS = 7;
+    private static final int SLOTS_PER_DAY = 16;
+
+    @Param({"100", "1000"})
+    int venues;
+
+    private ConfigurableApplicationContext context;
+    private AvailabilityService availabilityService;
+    private AvailabilityWindowRequest byTime;
+    private AvailabilityWindowRequest byPrice;
+    private AvailabilityWindowRequest weekends;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("window-search");
+        availabilityService = context.getBean(AvailabilityService.class);
+
+        LocalDate from = LocalDate.now().plusDays(1);
+        BenchmarkData data = new BenchmarkData(context);
+        data.seedSlots(data.seedVenues(venues), from, DAYS, SLOTS_PER_DAY, 60);
+
+        byTime = request(from, AvailabilityWindowRequest.Sort.TIME);
+        byPrice = request(from, AvailabilityWindowRequest.Sort.PRICE);
+        weekends = request(from, AvailabilityWindowRequest.Sort.TIME);
+        weekends.setDaysOfWeek(EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SlotResponse> byTime() {
+        return availabilityService.findSlotsInWindow(byTime);
+    }
+
+    @Benchmark
+    public List<SlotResponse> byPrice() {
+        return availabilityService.findSlotsInWindow(byPrice);
+    }
+
+    @Benchmark
+    public List<SlotResponse> weekends() {
+        return availabilityService.findSlotsInWindow(weekends);
+    }
+
+    private static AvailabilityWindowRequest request(LocalDate from, AvailabilityWindowRequest.Sort sort) {
+        AvailabilityWindowRequest request = new AvailabilityWindowRequest();
+        request.setSportCode(BenchmarkData.SPORT_CODES[0]);
+        request.setFromDate(from);
+        request.setToDate(from.plusDays(DAYS - 1L));
+        request.setDurationMinutes(60);
+        request.setEarliestStart(LocalTime.of(18, 0));
+        request.setLatestEnd(LocalTime.of(22, 0));
+        request.setSort(sort);
+        return request;
+    }
+}
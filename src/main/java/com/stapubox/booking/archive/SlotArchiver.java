@@ -0,0 +1,135 @@
+package com.stapubox.booking.archive;
+
+import com.stapubox.booking.config.BookingProperties;
+import com.stapubox.booking.repository.SlotArchiveRepository;
+import com.stapubox.booking.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves slots dated more than {@code booking.archive.retain-days} ago, with
+ * their bookings, from the live tables into the archive tables, so the live
+ * tables and the indexes every availability and overlap query scans only
+ * hold recent and future dates. Runs nightly on every shard, a batch per
+ * transaction; archived rows stay readable through the archive endpoints.
+ * A run can take hours on a large backlog, so the cron trigger only hands it
+ * to the archiver's own thread and the shared scheduler moves on; a trigger
+ * that fires while a run is still going is skipped.
+ */
+@Component
+@Slf4j
+public class SlotArchiver {
+    private final SlotArchiveRepository slotArchiveRepository;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingProperties.Archive properties;
+    private final Counter slotsArchived;
+    private final Counter bookingsArchived;
+    private final ExecutorService executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public SlotArchiver(SlotArchiveRepository slotArchiveRepository, ShardRouter shardRouter,
+                        TransactionTemplate transactionTemplate, BookingProperties bookingProperties,
+                        MeterRegistry meterRegistry) {
+        this.slotArchiveRepository = slotArchiveRepository;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = bookingProperties.getArchive();
+        // Today's and future slots are bookable and held in the in-memory indexes; they must never be archived.
+        if (properties.getRetainDays() < 1) {
+            throw new IllegalStateException("booking.archive.retain-days must be at least 1");
+        }
+        this.slotsArchived = Counter.builder("archive.rows").tag("table", "slots").register(meterRegistry);
+        this.bookingsArchived = Counter.builder("archive.rows").tag("table", "bookings").register(meterRegistry);
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "slot-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createTables() {
+        shardRouter.forEachShard(shard -> slotArchiveRepository.createTablesIfMissing());
+    }
+
+    @Scheduled(cron = "${booking.archive.cron:0 30 3 * * *}")
+    public void archive() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Previous archive run still in progress, skipping this one");
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                archiveAll();
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void archiveAll() {
+        LocalDate cutoff = LocalDate.now().minusDays(properties.getRetainDays());
+        shardRouter.forEachShard(shard -> {
+            try {
+                archiveShard(shard, cutoff);
+            } catch (RuntimeException e) {
+                // Batches already moved stay moved; the rest is picked up by the next run.
+                log.warn("Archiving shard {} failed: {}", shard, e.getMessage());
+            }
+        });
+    }
+
+    private void archiveShard(int shard, LocalDate cutoff) {
+        Optional<LocalDate> oldest = slotArchiveRepository.findOldestLiveSlotDate();
+        if (oldest.isEmpty() || !oldest.get().isBefore(cutoff)) {
+            return;
+        }
+        slotArchiveRepository.addMonthlyPartitions(oldest.get(), cutoff.minusDays(1));
+        long slots = 0;
+        long bookings = 0;
+        Batch batch;
+        while ((batch = transactionTemplate.execute(status -> moveBatch(cutoff))) != null) {
+            slots += batch.slots();
+            bookings += batch.bookings();
+            slotsArchived.increment(batch.slots());
+            bookingsArchived.increment(batch.bookings());
+        }
+        log.info("Archived {} slots and {} bookings dated before {} from shard {}", slots, bookings, cutoff, shard);
+    }
+
+    private Batch moveBatch(LocalDate cutoff) {
+        List<Long> slotIds = slotArchiveRepository.findLiveSlotIdsBefore(cutoff, properties.getBatchSize());
+        if (slotIds.isEmpty()) {
+            return null;
+        }
+        int bookings = slotArchiveRepository.moveToArchive(slotIds, LocalDateTime.now());
+        return new Batch(slotIds.size(), bookings);
+    }
+
+    private record Batch(int slots, int bookings) {
+    }
+}
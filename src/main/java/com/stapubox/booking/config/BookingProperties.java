@@ -0,0 +1,291 @@
+package com.stapubox.booking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "booking")
+public class BookingProperties {
+
+    /**
+     * How a slot is claimed when a booking is created.
+     */
+    private Strategy strategy = Strategy.PESSIMISTIC;
+
+    private final Admission admission = new Admission();
+
+    private final ConnectionAdmission connectionAdmission = new ConnectionAdmission();
+
+    private final Outbox outbox = new Outbox();
+
+    private final Hold hold = new Hold();
+
+    private final Idempotency idempotency = new Idempotency();
+
+    private final Replica replica = new Replica();
+
+    private final Sharding sharding = new Sharding();
+
+    private final VenueDeletion venueDeletion = new VenueDeletion();
+
+    private final Archive archive = new Archive();
+
+    private final Geo geo = new Geo();
+
+    public enum Strategy {
+        /** Lock the slot row with SELECT ... FOR UPDATE, then check and insert. */
+        PESSIMISTIC,
+        /** Claim the slot with a conditional UPDATE; no lock is taken before it. */
+        OPTIMISTIC
+    }
+
+    @Data
+    public static class Admission {
+        /**
+         * Serialize booking attempts per slot in memory before they reach the database.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Number of lock stripes slot ids are hashed onto.
+         */
+        private int stripes = 1024;
+
+        /**
+         * How long an attempt waits for its slot's stripe before giving up.
+         */
+        private Duration maxWait = Duration.ofSeconds(5);
+
+        /**
+         * How long a slot stays in the in-memory sold-out set before the
+         * database is consulted again. Covers changes made by other nodes.
+         */
+        private Duration soldOutTtl = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class ConnectionAdmission {
+        /**
+         * Cap concurrent requests at the number of database connections.
+         * Needed with virtual threads, where the request thread pool no longer
+         * bounds how many requests wait on the connection pool.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Concurrent requests let through; 0 uses the Hikari maximum pool size.
+         */
+        private int permits = 0;
+
+        /**
+         * How long a request waits for a permit before it is answered with 503.
+         */
+        private Duration maxWait = Duration.ofSeconds(2);
+    }
+
+    @Data
+    public static class Outbox {
+        /**
+         * Whether this instance relays outbox events. Enable it on one instance only.
+         */
+        private boolean relayEnabled = true;
+
+        /**
+         * Where events go: log, file or memory.
+         */
+        private String sink = "log";
+
+        /**
+         * File the file sink appends events to, one JSON document per line.
+         */
+        private String file = "booking-events.ndjson";
+
+        /**
+         * Events read, published and deleted together.
+         */
+        private int batchSize = 100;
+
+        /**
+         * Delay between relay runs; read by the scheduler.
+         */
+        private Duration pollInterval = Duration.ofMillis(500);
+    }
+
+    @Data
+    public static class Hold {
+        /**
+         * How long a held slot stays reserved before it is released.
+         */
+        private Duration ttl = Duration.ofMinutes(5);
+
+        /**
+         * Resolution of the expiry timing wheel; also the delay between ticks.
+         */
+        private Duration tick = Duration.ofSeconds(1);
+
+        /**
+         * Buckets per timing wheel level.
+         */
+        private int wheelSize = 512;
+
+        /**
+         * Expired holds released together in one transaction.
+         */
+        private int releaseBatchSize = 500;
+
+        /**
+         * Delay between database sweeps for expired holds this instance has not
+         * scheduled, such as holds taken on another node.
+         */
+        private Duration sweepInterval = Duration.ofMinutes(1);
+    }
+
+    @Data
+    public static class Idempotency {
+        /**
+         * How long an Idempotency-Key is remembered in the database. The
+         * in-memory copy is bounded by {@code cache.idempotency.spec}.
+         */
+        private Duration ttl = Duration.ofHours(24);
+
+        /**
+         * How long a retry waits for a request with the same key that is
+         * still booking on another shard before it gets 409.
+         */
+        private Duration pendingWait = Duration.ofSeconds(10);
+    }
+
+    @Data
+    public static class VenueDeletion {
+        /**
+         * Slots purged per transaction, together with their bookings. Bounds
+         * how many rows one purge transaction locks.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Pause between purge batches, leaving room for other writers.
+         */
+        private Duration pauseBetweenBatches = Duration.ofMillis(100);
+    }
+
+    @Data
+    public static class Archive {
+        /**
+         * Whether the nightly archiver runs. The archive tables are created
+         * and readable either way.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Slots dated more than this many days ago are moved to the archive,
+         * together with their bookings. At least 1.
+         */
+        private int retainDays = 90;
+
+        /**
+         * Slots moved per transaction.
+         */
+        private int batchSize = 1000;
+    }
+
+    @Data
+    public static class Geo {
+        /**
+         * Side of a geo index grid cell in degrees; 0.05 is about 5.5 km north
+         * to south. Smaller cells mean fewer venues checked per search but more
+         * cells looked up for a wide radius.
+         */
+        private double cellDegrees = 0.05;
+
+        /**
+         * Largest radius a nearby search accepts, and the radius used when only
+         * a result limit is given.
+         */
+        private double maxRadiusKm = 50;
+
+        /**
+         * Largest result limit a nearby search accepts, and the limit used when
+         * only a radius is given.
+         */
+        private int maxResults = 100;
+    }
+
+    @Data
+    public static class Replica {
+        /**
+         * Route read-only transactions to a replica; the primary stays
+         * configured through spring.datasource.
+         */
+        private boolean enabled = false;
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /**
+         * Optional; derived from the URL when empty.
+         */
+        private String driverClassName;
+
+        private int maximumPoolSize = 10;
+
+        /**
+         * Reads go to the primary while the replica trails by more than this.
+         */
+        private Duration maxLag = Duration.ofSeconds(2);
+
+        /**
+         * Delay between heartbeat checks; read by the scheduler.
+         */
+        private Duration lagCheckInterval = Duration.ofSeconds(1);
+
+        /**
+         * How long a client's reads stay on the primary after a write.
+         */
+        private Duration stickyWindow = Duration.ofSeconds(5);
+    }
+
+    @Data
+    public static class Sharding {
+        /**
+         * Partition venues, slots and bookings across several databases.
+         * spring.datasource is shard 0; {@link #shards} lists the others.
+         */
+        private boolean enabled = false;
+
+        private List<Shard> shards = new ArrayList<>();
+
+        /**
+         * Points each shard owns on the hash ring that places new venues.
+         */
+        private int virtualNodes = 64;
+
+        /**
+         * Threads that run per-shard queries in parallel for searches and listings.
+         */
+        private int fanOutThreads = 8;
+
+        @Data
+        public static class Shard {
+            private String url;
+
+            private String username;
+
+            private String password;
+
+            /**
+             * Optional; derived from the URL when empty.
+             */
+            private String driverClassName;
+
+            private int maximumPoolSize = 10;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.stapubox.booking.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Bounded Caffeine caches for rarely changing reads. The manager is
+ * transaction-aware, so puts and evictions made inside a transaction only
+ * apply once it commits and a concurrent reader cannot re-cache stale rows.
+ * Spring Boot binds {@code cache.gets}, {@code cache.puts} and
+ * {@code cache.evictions} for each cache; {@code cache.hit.ratio} is added here.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    /** VenueResponse by venue id. */
+    public static final String VENUES = "venues";
+    /** VenueResponse list, sorted by id, by lower-cased sport code. */
+    public static final String VENUES_BY_SPORT = "venuesBySport";
+    /** SportSummary by code; a record, so no detached entities are cached. */
+    public static final String SPORTS = "sports";
+    /** Serialized availability search results, see AvailabilityResultCache. */
+    public static final String AVAILABILITY = "availability";
+    /** Booking responses by Idempotency-Key, see BookingIdempotencyStore. */
+    public static final String IDEMPOTENCY = "idempotency";
+
+    @Bean
+    public CacheManager cacheManager(MeterRegistry meterRegistry,
+                                     @Value("${cache.venues.spec:maximumSize=10000,expireAfterWrite=10m}") String venues,
+                                     @Value("${cache.venues-by-sport.spec:maximumSize=200,expireAfterWrite=5m}") String venuesBySport,
+                                     @Value("${cache.sports.spec:maximumSize=1000,expireAfterWrite=1h}") String sports,
+                                     @Value("${cache.availability.spec:maximumSize=10000,expireAfterWrite=30s}") String availability,
+                                     @Value("${cache.idempotency.spec:maximumSize=50000,expireAfterWrite=1h}") String idempotency) {
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                cache(VENUES, venues, meterRegistry),
+                cache(VENUES_BY_SPORT, venuesBySport, meterRegistry),
+                cache(SPORTS, sports, meterRegistry),
+                cache(AVAILABILITY, availability, meterRegistry),
+                cache(IDEMPOTENCY, idempotency, meterRegistry)));
+        cacheManager.initializeCaches();
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    private static CaffeineCache cache(String name, String spec, MeterRegistry meterRegistry) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache =
+                Caffeine.from(spec).recordStats().build();
+        Gauge.builder("cache.hit.ratio", nativeCache, cache -> cache.stats().hitRate())
+                .tag("cache", name)
+                .register(meterRegistry);
+        return new CaffeineCache(name, nativeCache);
+    }
+}
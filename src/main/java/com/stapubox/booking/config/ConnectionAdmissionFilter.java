@@ -0,0 +1,155 @@
+package com.stapubox.booking.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stapubox.booking.exception.GlobalExceptionHandler.ErrorResponse;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Lets at most as many requests run as there are database connections, so
+ * that with virtual threads excess requests queue here, with a short bounded
+ * wait, instead of piling up on Hikari until its connection timeout. With
+ * open-in-view a request holds its connection until it completes, which makes
+ * the pool size the right number of permits. A request that goes async, such
+ * as a streamed export, keeps its permit until the async processing ends.
+ * Actuator endpoints bypass it.
+ */
+@Component
+@Slf4j
+public class ConnectionAdmissionFilter extends OncePerRequestFilter {
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private final BookingProperties.ConnectionAdmission properties;
+    private final ObjectMapper objectMapper;
+    private final Semaphore permits;
+    private final Timer waitTimer;
+    private final Counter rejected;
+
+    public ConnectionAdmissionFilter(BookingProperties bookingProperties, DataSource dataSource,
+                                     ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = bookingProperties.getConnectionAdmission();
+        this.objectMapper = objectMapper;
+        int size = properties.getPermits() > 0 ? properties.getPermits() : poolSize(dataSource);
+        this.permits = new Semaphore(size, true);
+        this.waitTimer = Timer.builder("http.server.admission.wait").register(meterRegistry);
+        this.rejected = Counter.builder("http.server.admission.rejected").register(meterRegistry);
+        Gauge.builder("http.server.admission.waiting", permits, Semaphore::getQueueLength).register(meterRegistry);
+        if (properties.isEnabled()) {
+            log.info("Connection admission control enabled with {} permits", size);
+        }
+    }
+
+    /** The primary pool's size; the DataSource may be a proxy, as with replica routing. */
+    private static int poolSize(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize()
+                    : DEFAULT_POOL_SIZE;
+        } catch (SQLException e) {
+            return DEFAULT_POOL_SIZE;
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long started = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(properties.getMaxWait().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+
+        if (!acquired) {
+            rejected.increment();
+            reject(response);
+            return;
+        }
+        boolean releasedLater = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // The async work still holds a connection; the container calls the listener once it ends.
+                request.getAsyncContext().addListener(new ReleaseOnAsyncEnd());
+                releasedLater = true;
+            }
+        } finally {
+            if (!releasedLater) {
+                permits.release();
+            }
+        }
+    }
+
+    /** Releases the permit once, whichever of complete, error or timeout is reported first. */
+    private final class ReleaseOnAsyncEnd implements AsyncListener {
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Async restarted on a redispatch: keep the permit and follow the new cycle.
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Server is busy, please retry",
+                LocalDateTime.now()));
+    }
+}
@@ -2,12 +2,18 @@ package com.stapubox.booking.config;
 
 import com.stapubox.booking.model.Sport;
 import com.stapubox.booking.repository.SportRepository;
+import com.stapubox.booking.service.SportCatalog;
 import com.stapubox.booking.service.SportService;
+import com.stapubox.booking.shard.ShardRouter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -15,18 +21,28 @@ public class DataInitializer implements CommandLineRunner {
 
     private final SportRepository sportRepository;
     private final SportService sportService;
+    private final ShardRouter shardRouter;
 
     @Override
     public void run(String... args) {
         log.info("Initializing sports data from external API");
 
-        var sportsFromAPI = sportService.getAllSports();
-        
-        if (sportsFromAPI.isEmpty()) {
+        SportCatalog catalog = sportService.refreshCatalog();
+        var sportsFromAPI = catalog.getSports();
+
+        if (catalog.getSource() != SportCatalog.Source.UPSTREAM) {
             log.warn("No sports fetched from external API. Sports will be validated at venue creation time.");
             return;
         }
 
+        // Venues reference their sport by foreign key, so every shard gets its own copy of the sports.
+        AtomicInteger seededCount = new AtomicInteger();
+        shardRouter.forEachShard(shard -> seededCount.addAndGet(seed(sportsFromAPI)));
+
+        log.info("Sports data initialization complete. Seeded {} sports from external API.", seededCount.get());
+    }
+
+    private int seed(List<SportService.SportInfo> sportsFromAPI) {
         int seededCount = 0;
         for (var sportInfo : sportsFromAPI) {
             String code = sportInfo.getCode();
@@ -36,21 +52,27 @@ public class DataInitializer implements CommandLineRunner {
             String sportCode = (code != null && !code.trim().isEmpty()) ? code : id;
             
             if (sportCode != null && !sportCode.trim().isEmpty()) {
-                if (!sportRepository.existsByCode(sportCode)) {
+                Optional<Sport> existing = sportRepository.findByCode(sportCode);
+                if (existing.isEmpty()) {
                     Sport sport = new Sport();
                     sport.setCode(sportCode);
 
                     sport.setName(name != null && !name.trim().isEmpty() 
                         ? name 
                         : sportCode);
+                    sport.setExternalId(id);
                     sportRepository.save(sport);
                     seededCount++;
                     log.debug("Seeded sport from API: code={}, name={}, id={}", sportCode, name, id);
+                } else if (id != null && !id.equals(existing.get().getExternalId())) {
+                    // Rows seeded before the upstream id was stored, or whose id changed upstream.
+                    existing.get().setExternalId(id);
+                    sportRepository.save(existing.get());
                 }
             }
         }
         
-        log.info("Sports data initialization complete. Seeded {} sports from external API.", seededCount);
+        return seededCount;
     }
 }
 
@@ -0,0 +1,70 @@
+package com.stapubox.booking.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Enforces {@link QueryBudget} on controller methods. Statement counts are
+ * recorded per endpoint; going over budget is logged and counted, or fails
+ * the offending statement when {@code query-budget.strict} is set. Strict
+ * mode is for tests only (see QueryBudgetTest); in production an overrun
+ * would surface as a 500 to the client.
+ */
+@Component
+@Slf4j
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+    private final MeterRegistry meterRegistry;
+    private final boolean strict;
+
+    public QueryBudgetInterceptor(MeterRegistry meterRegistry,
+                                  @Value("${query-budget.strict:false}") boolean strict) {
+        this.meterRegistry = meterRegistry;
+        this.strict = strict;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryBudget budget = budgetOf(handler);
+        if (budget != null) {
+            QueryCountInspector.start(budget.value(), strict);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        QueryBudget budget = budgetOf(handler);
+        if (budget == null) {
+            return;
+        }
+        int statements = QueryCountInspector.stop();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+
+        DistributionSummary.builder("http.server.requests.queries")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(statements);
+
+        if (statements > budget.value()) {
+            Counter.builder("http.server.requests.query.budget.exceeded")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("{} issued {} SQL statements, budget is {}", endpoint, statements, budget.value());
+        }
+    }
+
+    private static QueryBudget budgetOf(Object handler) {
+        return handler instanceof HandlerMethod method ? method.getMethodAnnotation(QueryBudget.class) : null;
+    }
+}
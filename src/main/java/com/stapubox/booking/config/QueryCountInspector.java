@@ -0,0 +1,51 @@
+package com.stapubox.booking.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread and, when
+ * a strict budget is active, rejects the statement that goes over it.
+ * Registered through {@code hibernate.session_factory.statement_inspector}.
+ */
+public class QueryCountInspector implements StatementInspector {
+    private static final ThreadLocal<Budget> CURRENT = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Budget budget = CURRENT.get();
+        if (budget != null) {
+            budget.count++;
+            if (budget.strict && budget.count > budget.limit) {
+                throw new QueryBudgetExceededException("Query budget of " + budget.limit + " exceeded by: " + sql);
+            }
+        }
+        return sql;
+    }
+
+    static void start(int limit, boolean strict) {
+        CURRENT.set(new Budget(limit, strict));
+    }
+
+    static int stop() {
+        Budget budget = CURRENT.get();
+        CURRENT.remove();
+        return budget != null ? budget.count : 0;
+    }
+
+    public static class QueryBudgetExceededException extends RuntimeException {
+        public QueryBudgetExceededException(String message) {
+            super(message);
+        }
+    }
+
+    private static final class Budget {
+        private final int limit;
+        private final boolean strict;
+        private int count;
+
+        private Budget(int limit, boolean strict) {
+            this.limit = limit;
+            this.strict = strict;
+        }
+    }
+}
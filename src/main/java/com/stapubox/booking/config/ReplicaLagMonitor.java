@@ -0,0 +1,99 @@
+package com.stapubox.booking.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Measures replica lag with a heartbeat row: every check writes the current
+ * time to {@code replica_heartbeat} on the primary and reads it back from the
+ * replica. Lag is how far the replica's heartbeat trails the one written on
+ * the previous check, so a caught-up replica reports zero. Works with any
+ * replication setup, and with no replication at all the heartbeat never
+ * arrives and the replica is simply not used. A verdict is only trusted for
+ * two check intervals, so if checks stop running the replica stops being used.
+ * The heartbeat table is created once at startup.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements InitializingBean {
+    private static final String CREATE_SQL =
+            "CREATE TABLE IF NOT EXISTS replica_heartbeat (id INT PRIMARY KEY, beat_at BIGINT NOT NULL)";
+    private static final String UPDATE_SQL = "UPDATE replica_heartbeat SET beat_at = ? WHERE id = 1";
+    private static final String INSERT_SQL = "INSERT INTO replica_heartbeat (id, beat_at) VALUES (1, ?)";
+    private static final String SELECT_SQL = "SELECT beat_at FROM replica_heartbeat WHERE id = 1";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+    private final long verdictTtlMillis;
+
+    private long previousBeat;
+    private volatile long lagMillis = -1;
+    private volatile boolean usable;
+    /** When {@link #usable} was last decided from a heartbeat written and read back. */
+    private volatile long checkedAt;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, BookingProperties.Replica properties,
+                             MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagMillis = properties.getMaxLag().toMillis();
+        this.verdictTtlMillis = 2 * properties.getLagCheckInterval().toMillis();
+        Gauge.builder("datasource.replica.lag.seconds", this, monitor -> monitor.lagMillis < 0 ? Double.NaN : monitor.lagMillis / 1000.0)
+                .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, monitor -> monitor.isReplicaUsable() ? 1 : 0).register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        primary.execute(CREATE_SQL);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable && System.currentTimeMillis() - checkedAt <= verdictTtlMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${booking.replica.lag-check-interval:PT1S}")
+    public synchronized void check() {
+        Long seen;
+        try {
+            seen = replica.queryForObject(SELECT_SQL, Long.class);
+        } catch (DataAccessException e) {
+            seen = null;
+            if (usable) {
+                log.warn("Replica heartbeat unreadable, routing reads to the primary: {}", e.getMessage());
+            }
+        }
+
+        long now = System.currentTimeMillis();
+        try {
+            if (primary.update(UPDATE_SQL, now) == 0) {
+                primary.update(INSERT_SQL, now);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Failed to write replica heartbeat: {}", e.getMessage());
+            return;
+        }
+
+        boolean wasUsable = usable;
+        if (seen == null || previousBeat == 0) {
+            lagMillis = -1;
+            usable = false;
+        } else {
+            lagMillis = Math.max(0, previousBeat - seen);
+            usable = lagMillis <= maxLagMillis;
+        }
+        previousBeat = now;
+        checkedAt = now;
+
+        if (wasUsable != usable && seen != null) {
+            log.info("Replica {} (lag {} ms)", usable ? "in use" : "lagging, routing reads to the primary", lagMillis);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.stapubox.booking.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+
+/**
+ * Primary and replica connection pools behind a routing DataSource, replacing
+ * Spring Boot's single pool when {@code booking.replica.enabled} is set. The
+ * primary pool is configured from {@code spring.datasource}, the replica from
+ * {@code booking.replica}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "booking.replica", name = "enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource(BookingProperties bookingProperties) {
+        BookingProperties.Replica replica = bookingProperties.getReplica();
+        if (!StringUtils.hasText(replica.getUrl())) {
+            throw new IllegalStateException("booking.replica.url is required when booking.replica.enabled is true");
+        }
+        DataSourceBuilder<HikariDataSource> builder = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(replica.getUrl())
+                .username(replica.getUsername())
+                .password(replica.getPassword());
+        if (StringUtils.hasText(replica.getDriverClassName())) {
+            builder.driverClassName(replica.getDriverClassName());
+        }
+        HikariDataSource dataSource = builder.build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+                                               @Qualifier("replicaDataSource") DataSource replica,
+                                               BookingProperties bookingProperties, MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(primary, replica, bookingProperties.getReplica(), meterRegistry);
+    }
+
+    /**
+     * The lazy proxy defers fetching a connection to the first statement, by
+     * which time the transaction's read-only flag is known to the router.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 ReplicaLagMonitor replicaLagMonitor, MeterRegistry meterRegistry) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, replica, replicaLagMonitor, meterRegistry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(BookingProperties bookingProperties) {
+        return new ReadYourWritesFilter(bookingProperties.getReplica().getStickyWindow());
+    }
+}
@@ -0,0 +1,60 @@
+package com.stapubox.booking.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else to the
+ * primary. A read-only transaction still goes to the primary while its
+ * request is inside the read-your-writes window, or while the replica is
+ * lagging or unreachable.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final ReplicaLagMonitor replicaLagMonitor;
+    private final Counter readOnly;
+    private final Counter readWrite;
+    private final Counter sticky;
+    private final Counter lagging;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica,
+                                    ReplicaLagMonitor replicaLagMonitor, MeterRegistry meterRegistry) {
+        this.replicaLagMonitor = replicaLagMonitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        this.readOnly = counter(meterRegistry, "replica", "read_only");
+        this.readWrite = counter(meterRegistry, "primary", "read_write");
+        this.sticky = counter(meterRegistry, "primary", "read_your_writes");
+        this.lagging = counter(meterRegistry, "primary", "replica_unavailable");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readWrite.increment();
+            return Target.PRIMARY;
+        }
+        if (ReadYourWritesFilter.isSticky()) {
+            sticky.increment();
+            return Target.PRIMARY;
+        }
+        if (!replicaLagMonitor.isReplicaUsable()) {
+            lagging.increment();
+            return Target.PRIMARY;
+        }
+        readOnly.increment();
+        return Target.REPLICA;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("datasource.routing").tag("target", target).tag("reason", reason).register(meterRegistry);
+    }
+}
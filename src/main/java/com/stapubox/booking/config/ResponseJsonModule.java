@@ -0,0 +1,162 @@
+package com.stapubox.booking.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.stapubox.booking.dto.BookingResponse;
+import com.stapubox.booking.dto.SlotResponse;
+import com.stapubox.booking.dto.VenueResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * Hand-written serializers for the responses the list and export endpoints
+ * return by the thousand. Field names are encoded once and values go straight
+ * to the generator, skipping the per-property bean serializer. The output is
+ * byte-for-byte what Spring Boot's default mapper writes: nulls included,
+ * java.time values as ISO strings.
+ */
+@Component
+public class ResponseJsonModule extends SimpleModule {
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString NAME = new SerializedString("name");
+    private static final SerializableString LOCATION = new SerializedString("location");
+    private static final SerializableString SPORT_CODE = new SerializedString("sportCode");
+    private static final SerializableString SPORT_ID = new SerializedString("sportId");
+    private static final SerializableString DESCRIPTION = new SerializedString("description");
+    private static final SerializableString CAPACITY = new SerializedString("capacity");
+    private static final SerializableString LATITUDE = new SerializedString("latitude");
+    private static final SerializableString LONGITUDE = new SerializedString("longitude");
+    private static final SerializableString VENUE_ID = new SerializedString("venueId");
+    private static final SerializableString VENUE_NAME = new SerializedString("venueName");
+    private static final SerializableString SLOT_DATE = new SerializedString("slotDate");
+    private static final SerializableString START_TIME = new SerializedString("startTime");
+    private static final SerializableString END_TIME = new SerializedString("endTime");
+    private static final SerializableString IS_AVAILABLE = new SerializedString("isAvailable");
+    private static final SerializableString PRICE = new SerializedString("price");
+    private static final SerializableString SLOT_ID = new SerializedString("slotId");
+    private static final SerializableString CUSTOMER_NAME = new SerializedString("customerName");
+    private static final SerializableString CUSTOMER_EMAIL = new SerializedString("customerEmail");
+    private static final SerializableString CUSTOMER_PHONE = new SerializedString("customerPhone");
+    private static final SerializableString STATUS = new SerializedString("status");
+    private static final SerializableString TOTAL_AMOUNT = new SerializedString("totalAmount");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+    private static final SerializableString CANCELLED_AT = new SerializedString("cancelledAt");
+    private static final SerializableString HOLD_EXPIRES_AT = new SerializedString("holdExpiresAt");
+
+    public ResponseJsonModule() {
+        super("ResponseJsonModule");
+        addSerializer(new StdSerializer<>(VenueResponse.class) {
+            @Override
+            public void serialize(VenueResponse venue, JsonGenerator g, SerializerProvider provider) throws IOException {
+                g.writeStartObject(venue);
+                writeNumber(g, ID, venue.id());
+                writeString(g, NAME, venue.name());
+                writeString(g, LOCATION, venue.location());
+                writeString(g, SPORT_CODE, venue.sportCode());
+                writeString(g, SPORT_ID, venue.sportId());
+                writeString(g, DESCRIPTION, venue.description());
+                writeNumber(g, CAPACITY, venue.capacity());
+                writeNumber(g, LATITUDE, venue.latitude());
+                writeNumber(g, LONGITUDE, venue.longitude());
+                writeTemporal(g, CREATED_AT, venue.createdAt(), DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+                writeTemporal(g, UPDATED_AT, venue.updatedAt(), DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+                g.writeEndObject();
+            }
+        });
+        addSerializer(new StdSerializer<>(SlotResponse.class) {
+            @Override
+            public void serialize(SlotResponse slot, JsonGenerator g, SerializerProvider provider) throws IOException {
+                g.writeStartObject(slot);
+                writeNumber(g, ID, slot.id());
+                writeNumber(g, VENUE_ID, slot.venueId());
+                writeString(g, VENUE_NAME, slot.venueName());
+                writeTemporal(g, SLOT_DATE, slot.slotDate(), DateTimeFormatter.ISO_LOCAL_DATE);
+                writeTemporal(g, START_TIME, slot.startTime(), DateTimeFormatter.ISO_LOCAL_TIME);
+                writeTemporal(g, END_TIME, slot.endTime(), DateTimeFormatter.ISO_LOCAL_TIME);
+                g.writeFieldName(IS_AVAILABLE);
+                if (slot.isAvailable() == null) {
+                    g.writeNull();
+                } else {
+                    g.writeBoolean(slot.isAvailable());
+                }
+                writeNumber(g, PRICE, slot.price());
+                writeTemporal(g, CREATED_AT, slot.createdAt(), DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+                writeTemporal(g, UPDATED_AT, slot.updatedAt(), DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+                g.writeEndObject();
+            }
+        });
+        addSerializer(new StdSerializer<>(BookingResponse.class) {
+            @Override
+            public void serialize(BookingResponse booking, JsonGenerator g, SerializerProvider provider)
+                    throws IOException {
+                g.writeStartObject(booking);
+                writeNumber(g, ID, booking.id());
+                writeNumber(g, SLOT_ID, booking.slotId());
+                writeString(g, CUSTOMER_NAME, booking.customerName());
+                writeString(g, CUSTOMER_EMAIL, booking.customerEmail());
+                writeString(g, CUSTOMER_PHONE, booking.customerPhone());
+                writeString(g, STATUS, booking.status() != null ? booking.status().name() : null);
+                writeNumber(g, TOTAL_AMOUNT, booking.totalAmount());
+                writeTemporal(g, CREATED_AT, booking.createdAt(), DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+                writeTemporal(g, UPDATED_AT, booking.updatedAt(), DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+                writeTemporal(g, CANCELLED_AT, booking.cancelledAt(), DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+                writeTemporal(g, HOLD_EXPIRES_AT, booking.holdExpiresAt(), DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+                g.writeEndObject();
+            }
+        });
+    }
+
+    private static void writeString(JsonGenerator g, SerializableString name, String value) throws IOException {
+        g.writeFieldName(name);
+        if (value == null) {
+            g.writeNull();
+        } else {
+            g.writeString(value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator g, SerializableString name, Long value) throws IOException {
+        g.writeFieldName(name);
+        if (value == null) {
+            g.writeNull();
+        } else {
+            g.writeNumber(value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator g, SerializableString name, Integer value) throws IOException {
+        g.writeFieldName(name);
+        if (value == null) {
+            g.writeNull();
+        } else {
+            g.writeNumber(value);
+        }
+    }
+
+    private static void writeNumber(JsonGenerator g, SerializableString name, Double value) throws IOException {
+        g.writeFieldName(name);
+        if (value == null) {
+            g.writeNull();
+        } else {
+            g.writeNumber(value);
+        }
+    }
+
+    private static void writeTemporal(JsonGenerator g, SerializableString name, TemporalAccessor value,
+                                      DateTimeFormatter format) throws IOException {
+        g.writeFieldName(name);
+        if (value == null) {
+            g.writeNull();
+        } else {
+            g.writeString(format.format(value));
+        }
+    }
+}
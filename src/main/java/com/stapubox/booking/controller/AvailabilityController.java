@@ -1,12 +1,18 @@
 package com.stapubox.booking.controller;
 
+import com.stapubox.booking.config.QueryBudget;
 import com.stapubox.booking.dto.AvailabilityRequest;
-import com.stapubox.booking.dto.VenueResponse;
+import com.stapubox.booking.dto.AvailabilityWindowRequest;
+import com.stapubox.booking.dto.SlotResponse;
+import com.stapubox.booking.service.AvailabilityResultCache;
 import com.stapubox.booking.service.AvailabilityService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -14,14 +20,28 @@ import java.util.List;
 @RequestMapping("/venues")
 @RequiredArgsConstructor
 public class AvailabilityController {
+    private final AvailabilityResultCache availabilityResultCache;
     private final AvailabilityService availabilityService;
 
+    @QueryBudget(1)
     @GetMapping("/available")
-    public ResponseEntity<List<VenueResponse>> getAvailableVenues(
-            @Valid @ModelAttribute AvailabilityRequest request) {
-        List<VenueResponse> venues = availabilityService.getAvailableVenues(request);
-        return ResponseEntity.ok(venues);
+    public ResponseEntity<byte[]> getAvailableVenues(
+            @Valid @ModelAttribute AvailabilityRequest request, WebRequest webRequest) {
+        AvailabilityResultCache.Result result = availabilityResultCache.get(request);
+        if (webRequest.checkNotModified(result.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .eTag(result.etag())
+                .body(result.json());
     }
-}
-
 
+    @QueryBudget(1)
+    @GetMapping("/available/slots")
+    public ResponseEntity<List<SlotResponse>> getAvailableSlotsInWindow(
+            @Valid @ModelAttribute AvailabilityWindowRequest request) {
+        return ResponseEntity.ok(availabilityService.findSlotsInWindow(request));
+    }
+}
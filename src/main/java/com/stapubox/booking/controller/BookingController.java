@@ -1,13 +1,19 @@
 package com.stapubox.booking.controller;
 
+import com.stapubox.booking.config.QueryBudget;
+import com.stapubox.booking.dto.BatchBookingRequest;
+import com.stapubox.booking.dto.BatchBookingResponse;
 import com.stapubox.booking.dto.BookingRequest;
 import com.stapubox.booking.dto.BookingResponse;
+import com.stapubox.booking.dto.PageResponse;
 import com.stapubox.booking.service.BookingService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -18,23 +24,64 @@ public class BookingController {
     private final BookingService bookingService;
 
     @PostMapping
-    public ResponseEntity<BookingResponse> createBooking(@Valid @RequestBody BookingRequest request) {
-        BookingResponse response = bookingService.createBooking(request);
+    public ResponseEntity<BookingResponse> createBooking(
+            @Valid @RequestBody BookingRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        BookingResponse response = bookingService.createBooking(request, idempotencyKey);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchBookingResponse> createBookings(@Valid @RequestBody BatchBookingRequest request) {
+        BatchBookingResponse response = bookingService.createBookings(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @PostMapping("/holds")
+    public ResponseEntity<BookingResponse> holdSlot(@Valid @RequestBody BookingRequest request) {
+        BookingResponse response = bookingService.holdSlot(request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    @QueryBudget(1)
     @GetMapping("/{id}")
     public ResponseEntity<BookingResponse> getBookingById(@PathVariable Long id) {
         BookingResponse booking = bookingService.getBookingById(id);
         return ResponseEntity.ok(booking);
     }
 
+    @GetMapping("/archive/{id}")
+    public ResponseEntity<BookingResponse> getArchivedBooking(@PathVariable Long id) {
+        return ResponseEntity.ok(bookingService.getArchivedBooking(id));
+    }
+
+    @QueryBudget(1)
     @GetMapping
     public ResponseEntity<List<BookingResponse>> getAllBookings() {
         List<BookingResponse> bookings = bookingService.getAllBookings();
         return ResponseEntity.ok(bookings);
     }
 
+    @QueryBudget(1)
+    @GetMapping(params = "limit")
+    public ResponseEntity<PageResponse<BookingResponse>> getBookingsPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(bookingService.getBookingsPage(cursor, limit));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings() {
+        StreamingResponseBody body = bookingService::exportBookings;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @PutMapping("/{id}/confirm")
+    public ResponseEntity<BookingResponse> confirmHold(@PathVariable Long id) {
+        BookingResponse response = bookingService.confirmHold(id);
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{id}/cancel")
     public ResponseEntity<BookingResponse> cancelBooking(@PathVariable Long id) {
         BookingResponse response = bookingService.cancelBooking(id);
@@ -1,14 +1,22 @@
 package com.stapubox.booking.controller;
 
+import com.stapubox.booking.config.QueryBudget;
+import com.stapubox.booking.dto.BulkSlotRequest;
+import com.stapubox.booking.dto.BulkSlotResponse;
+import com.stapubox.booking.dto.PageResponse;
 import com.stapubox.booking.dto.SlotRequest;
 import com.stapubox.booking.dto.SlotResponse;
 import com.stapubox.booking.service.SlotService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -25,11 +33,43 @@ public class SlotController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkSlotResponse> createSlots(
+            @PathVariable Long venueId,
+            @Valid @RequestBody BulkSlotRequest request) {
+        BulkSlotResponse response = slotService.createSlots(venueId, request);
+        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    }
+
+    // One statement; a second only when the listing is empty, to tell a venue without slots from a missing one.
+    @QueryBudget(2)
     @GetMapping
     public ResponseEntity<List<SlotResponse>> getSlotsByVenue(@PathVariable Long venueId) {
         List<SlotResponse> slots = slotService.getSlotsByVenue(venueId);
         return ResponseEntity.ok(slots);
     }
-}
 
+    @QueryBudget(2)
+    @GetMapping(params = "limit")
+    public ResponseEntity<PageResponse<SlotResponse>> getSlotsPage(
+            @PathVariable Long venueId,
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(slotService.getSlotsPage(venueId, cursor, limit));
+    }
+
+    @GetMapping("/archive")
+    public ResponseEntity<List<SlotResponse>> getArchivedSlots(
+            @PathVariable Long venueId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(slotService.getArchivedSlots(venueId, from, to));
+    }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportSlots(@PathVariable Long venueId) {
+        slotService.requireActiveVenue(venueId);
+        StreamingResponseBody body = out -> slotService.exportSlots(venueId, out);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+}
@@ -1,13 +1,20 @@
 package com.stapubox.booking.controller;
 
+import com.stapubox.booking.config.QueryBudget;
+import com.stapubox.booking.dto.PageResponse;
+import com.stapubox.booking.dto.VenueDeletionResponse;
 import com.stapubox.booking.dto.VenueRequest;
 import com.stapubox.booking.dto.VenueResponse;
+import com.stapubox.booking.dto.VenueSearchRequest;
+import com.stapubox.booking.service.VenueSearchService;
 import com.stapubox.booking.service.VenueService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -16,6 +23,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class VenueController {
     private final VenueService venueService;
+    private final VenueSearchService venueSearchService;
 
     @PostMapping
     public ResponseEntity<VenueResponse> createVenue(@Valid @RequestBody VenueRequest request) {
@@ -23,12 +31,42 @@ public class VenueController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @QueryBudget(1)
     @GetMapping
     public ResponseEntity<List<VenueResponse>> getAllVenues() {
         List<VenueResponse> venues = venueService.getAllVenues();
         return ResponseEntity.ok(venues);
     }
 
+    @QueryBudget(1)
+    @GetMapping(params = "limit")
+    public ResponseEntity<PageResponse<VenueResponse>> getVenuesPage(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(venueService.getVenuesPage(cursor, limit));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportVenues() {
+        StreamingResponseBody body = venueService::exportVenues;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @QueryBudget(1)
+    @GetMapping("/search")
+    public ResponseEntity<List<VenueResponse>> searchVenues(@Valid @ModelAttribute VenueSearchRequest request) {
+        return ResponseEntity.ok(venueSearchService.search(request));
+    }
+
+    @QueryBudget(0)
+    @GetMapping("/search/suggest")
+    public ResponseEntity<List<String>> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(venueSearchService.suggest(q, limit));
+    }
+
+    @QueryBudget(1)
     @GetMapping("/{id}")
     public ResponseEntity<VenueResponse> getVenueById(@PathVariable Long id) {
         VenueResponse venue = venueService.getVenueById(id);
@@ -36,9 +74,13 @@ public class VenueController {
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteVenue(@PathVariable Long id) {
-        venueService.deleteVenue(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<VenueDeletionResponse> deleteVenue(@PathVariable Long id) {
+        return ResponseEntity.accepted().body(venueService.deleteVenue(id));
+    }
+
+    @GetMapping("/{id}/deletion")
+    public ResponseEntity<VenueDeletionResponse> getDeletionStatus(@PathVariable Long id) {
+        return ResponseEntity.ok(venueService.getDeletionStatus(id));
     }
 }
 
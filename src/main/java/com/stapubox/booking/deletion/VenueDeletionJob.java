@@ -0,0 +1,198 @@
+package com.stapubox.booking.deletion;
+
+import com.stapubox.booking.config.BookingProperties;
+import com.stapubox.booking.dto.VenueDeletionResponse;
+import com.stapubox.booking.dto.VenueDeletionResponse.Status;
+import com.stapubox.booking.event.VenueDeletedEvent;
+import com.stapubox.booking.model.Booking;
+import com.stapubox.booking.model.Booking.BookingStatus;
+import com.stapubox.booking.outbox.BookingEvent;
+import com.stapubox.booking.outbox.BookingEventOutbox;
+import com.stapubox.booking.repository.BookingRepository;
+import com.stapubox.booking.repository.SlotRepository;
+import com.stapubox.booking.repository.VenueRepository;
+import com.stapubox.booking.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+/**
+ * Purges the slots and bookings of deleted venues in the background. Deleting
+ * a venue only stamps {@code deleted_at}, which hides it at once; this job then
+ * removes its bookings and slots {@code booking.venue-deletion.batch-size}
+ * slots at a time, each batch in its own short transaction on the venue's
+ * shard with a pause in between, and the venue row last. Bookings that were
+ * still live get a BOOKING_CANCELLED event. Purges run one at a time, and
+ * venues left half purged by a restart are picked up again at startup.
+ */
+@Component
+@Slf4j
+public class VenueDeletionJob {
+    private final VenueRepository venueRepository;
+    private final SlotRepository slotRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingEventOutbox bookingEventOutbox;
+    private final ShardRouter shardRouter;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingProperties.VenueDeletion properties;
+    private final ExecutorService executor;
+    private final Map<Long, Progress> deletions = new ConcurrentHashMap<>();
+    private final Counter slotsPurged;
+    private final Counter bookingsPurged;
+
+    public VenueDeletionJob(VenueRepository venueRepository, SlotRepository slotRepository,
+                            BookingRepository bookingRepository, BookingEventOutbox bookingEventOutbox,
+                            ShardRouter shardRouter, TransactionTemplate transactionTemplate,
+                            BookingProperties bookingProperties, MeterRegistry meterRegistry) {
+        this.venueRepository = venueRepository;
+        this.slotRepository = slotRepository;
+        this.bookingRepository = bookingRepository;
+        this.bookingEventOutbox = bookingEventOutbox;
+        this.shardRouter = shardRouter;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = bookingProperties.getVenueDeletion();
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "venue-purge");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.slotsPurged = Counter.builder("venue.deletion.purged").tag("table", "slots").register(meterRegistry);
+        this.bookingsPurged = Counter.builder("venue.deletion.purged").tag("table", "bookings").register(meterRegistry);
+        Gauge.builder("venue.deletion.pending", deletions, map -> map.values().stream()
+                .filter(progress -> progress.status == Status.QUEUED || progress.status == Status.PURGING)
+                .count()).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resume() {
+        List<Long> venueIds = shardRouter.fanOut(shard -> venueRepository.findDeletedIds());
+        venueIds.forEach(this::submit);
+        if (!venueIds.isEmpty()) {
+            log.info("Resuming purge of {} deleted venues", venueIds.size());
+        }
+    }
+
+    @TransactionalEventListener
+    public void onVenueDeleted(VenueDeletedEvent event) {
+        submit(event.venueId());
+    }
+
+    /** Queues a purge of the venue unless one is already queued or running; a failed purge is retried. */
+    public VenueDeletionResponse submit(Long venueId) {
+        return deletions.compute(venueId, (id, current) -> {
+            if (current != null && current.status != Status.FAILED) {
+                return current;
+            }
+            Progress queued = new Progress(id);
+            executor.execute(() -> purge(queued));
+            return queued;
+        }).toResponse();
+    }
+
+    /** Progress of the venue's purge since this instance started, if one was queued. */
+    public Optional<VenueDeletionResponse> status(Long venueId) {
+        return Optional.ofNullable(deletions.get(venueId)).map(Progress::toResponse);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void purge(Progress progress) {
+        Long venueId = progress.venueId;
+        int shard = shardRouter.shardOf(venueId);
+        try {
+            progress.slotsTotal = shardRouter.onShard(shard, () -> slotRepository.countByVenueId(venueId));
+            progress.startedAt = LocalDateTime.now();
+            progress.status = Status.PURGING;
+            log.info("Purging venue {} with {} slots", venueId, progress.slotsTotal);
+            Batch batch;
+            while ((batch = shardRouter.onShard(shard, () -> transactionTemplate.execute(status -> purgeBatch(venueId)))) != null) {
+                progress.slotsDeleted += batch.slots();
+                progress.bookingsDeleted += batch.bookings();
+                slotsPurged.increment(batch.slots());
+                bookingsPurged.increment(batch.bookings());
+                Thread.sleep(properties.getPauseBetweenBatches().toMillis());
+            }
+            progress.finishedAt = LocalDateTime.now();
+            progress.status = Status.COMPLETED;
+            log.info("Purged venue {}: {} slots and {} bookings", venueId, progress.slotsDeleted, progress.bookingsDeleted);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            progress.fail("Interrupted");
+        } catch (RuntimeException e) {
+            // The venue stays deleted; its purge resumes on the next DELETE or restart.
+            log.warn("Purge of venue {} failed after {} slots: {}", venueId, progress.slotsDeleted, e.getMessage());
+            progress.fail(e.getMessage());
+        }
+    }
+
+    /** Purges one batch of slots with their bookings; once no slots are left, removes the venue and returns null. */
+    private Batch purgeBatch(Long venueId) {
+        List<Long> slotIds = slotRepository.findIdsByVenueId(venueId, Limit.of(properties.getBatchSize()));
+        if (slotIds.isEmpty()) {
+            venueRepository.deletePurged(venueId);
+            return null;
+        }
+        List<Booking> bookings = bookingRepository.findBySlotIds(slotIds);
+        if (!bookings.isEmpty()) {
+            List<Booking> live = bookings.stream()
+                    .filter(booking -> booking.getStatus() != BookingStatus.CANCELLED)
+                    .collect(Collectors.toList());
+            if (!live.isEmpty()) {
+                bookingEventOutbox.appendAll(live, BookingEvent.Type.BOOKING_CANCELLED);
+            }
+            bookingRepository.deleteAllByIdInBatch(bookings.stream().map(Booking::getId).collect(Collectors.toList()));
+        }
+        slotRepository.deleteAllByIdInBatch(slotIds);
+        return new Batch(slotIds.size(), bookings.size());
+    }
+
+    private record Batch(int slots, int bookings) {
+    }
+
+    /** Written only by the purge thread. */
+    private static final class Progress {
+        private final Long venueId;
+        private volatile Status status = Status.QUEUED;
+        private volatile long slotsTotal;
+        private volatile long slotsDeleted;
+        private volatile long bookingsDeleted;
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile String error;
+
+        private Progress(Long venueId) {
+            this.venueId = venueId;
+        }
+
+        private void fail(String message) {
+            error = message;
+            finishedAt = LocalDateTime.now();
+            status = Status.FAILED;
+        }
+
+        private VenueDeletionResponse toResponse() {
+            return new VenueDeletionResponse(venueId, status, slotsTotal, slotsDeleted, bookingsDeleted,
+                    startedAt, finishedAt, error);
+        }
+    }
+}
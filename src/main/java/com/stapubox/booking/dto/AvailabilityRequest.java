@@ -1,6 +1,10 @@
 package com.stapubox.booking.dto;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.Data;
 import org.springframework.format.annotation.DateTimeFormat;
 
@@ -23,6 +27,21 @@ public class AvailabilityRequest {
     @NotNull(message = "End time is required")
     @DateTimeFormat(pattern = "HH:mm:ss")
     private LocalTime endTime;
+
+    /** With {@link #longitude}, searches around this point and sorts by distance. */
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    private Double latitude;
+
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    private Double longitude;
+
+    @Positive(message = "Radius must be positive")
+    private Double radiusKm;
+
+    @Min(value = 1, message = "Limit must be at least 1")
+    private Integer limit;
 }
 
 
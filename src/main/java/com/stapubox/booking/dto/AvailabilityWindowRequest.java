@@ -0,0 +1,55 @@
+package com.stapubox.booking.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+@Data
+public class AvailabilityWindowRequest {
+    @NotNull(message = "Sport code is required")
+    private String sportCode;
+
+    @NotNull(message = "From date is required")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate fromDate;
+
+    @NotNull(message = "To date is required")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate toDate;
+
+    @NotNull(message = "Duration is required")
+    @Min(value = 1, message = "Duration must be between 1 and 1440 minutes")
+    @Max(value = 1440, message = "Duration must be between 1 and 1440 minutes")
+    private Integer durationMinutes;
+
+    /** Start of the daily window; the start of the day when absent. */
+    @DateTimeFormat(pattern = "HH:mm:ss")
+    private LocalTime earliestStart;
+
+    /** End of the daily window; the end of the day when absent. */
+    @DateTimeFormat(pattern = "HH:mm:ss")
+    private LocalTime latestEnd;
+
+    /** Every day when absent. */
+    private Set<DayOfWeek> daysOfWeek;
+
+    private Sort sort = Sort.TIME;
+
+    @Min(value = 1, message = "Limit must be between 1 and 500")
+    @Max(value = 500, message = "Limit must be between 1 and 500")
+    private int limit = 50;
+
+    public enum Sort {
+        /** Earliest date and start time first. */
+        TIME,
+        /** Cheapest first; slots without a price last. */
+        PRICE
+    }
+}
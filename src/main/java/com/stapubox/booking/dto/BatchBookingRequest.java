@@ -0,0 +1,26 @@
+package com.stapubox.booking.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BatchBookingRequest {
+    @NotEmpty(message = "At least one slot ID is required")
+    @Size(max = 50, message = "At most 50 slots can be booked together")
+    private List<@NotNull(message = "Slot ID is required") Long> slotIds;
+
+    @NotBlank(message = "Customer name is required")
+    private String customerName;
+
+    @NotBlank(message = "Customer email is required")
+    @Email(message = "Invalid email format")
+    private String customerEmail;
+
+    private String customerPhone;
+}
@@ -0,0 +1,15 @@
+package com.stapubox.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchBookingResponse {
+    private List<BookingResponse> bookings;
+    private Double totalAmount;
+}
@@ -1,26 +1,19 @@
 package com.stapubox.booking.dto;
 
 import com.stapubox.booking.model.Booking.BookingStatus;
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class BookingResponse {
-    private Long id;
-    private Long slotId;
-    private String customerName;
-    private String customerEmail;
-    private String customerPhone;
-    private BookingStatus status;
-    private Double totalAmount;
-    private LocalDateTime createdAt;
-    private LocalDateTime updatedAt;
-    private LocalDateTime cancelledAt;
+public record BookingResponse(
+        Long id,
+        Long slotId,
+        String customerName,
+        String customerEmail,
+        String customerPhone,
+        BookingStatus status,
+        Double totalAmount,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime cancelledAt,
+        LocalDateTime holdExpiresAt) {
 }
-
-
@@ -0,0 +1,39 @@
+package com.stapubox.booking.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+@Data
+public class BulkSlotRequest {
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+
+    private Set<DayOfWeek> daysOfWeek;
+
+    @NotNull(message = "Start time is required")
+    private LocalTime startTime;
+
+    @NotNull(message = "End time is required")
+    private LocalTime endTime;
+
+    @NotNull(message = "Slot duration is required")
+    @Min(value = 1, message = "Slot duration must be at least 1 minute")
+    @Max(value = 1440, message = "Slot duration cannot exceed 1440 minutes")
+    private Integer durationMinutes;
+
+    @Min(value = 1, message = "Interval must be at least 1 minute")
+    @Max(value = 1440, message = "Interval cannot exceed 1440 minutes")
+    private Integer intervalMinutes;
+
+    private Double price;
+}
@@ -0,0 +1,19 @@
+package com.stapubox.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkSlotResponse {
+    private Long venueId;
+    private Integer createdCount;
+    private LocalDate firstSlotDate;
+    private LocalDate lastSlotDate;
+    private Long elapsedMillis;
+    private Long rowsPerSecond;
+}
@@ -0,0 +1,4 @@
+package com.stapubox.booking.dto;
+
+public record SportSummary(Long id, String code, String name) {
+}
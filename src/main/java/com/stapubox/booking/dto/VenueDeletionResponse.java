@@ -0,0 +1,25 @@
+package com.stapubox.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VenueDeletionResponse {
+    private Long venueId;
+    private Status status;
+    private Long slotsTotal;
+    private Long slotsDeleted;
+    private Long bookingsDeleted;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String error;
+
+    public enum Status {
+        QUEUED, PURGING, COMPLETED, FAILED
+    }
+}
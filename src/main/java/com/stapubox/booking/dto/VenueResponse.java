@@ -1,24 +1,21 @@
 package com.stapubox.booking.dto;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
-import lombok.NoArgsConstructor;
-
 import java.time.LocalDateTime;
 
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class VenueResponse {
-    private Long id;
-    private String name;
-    private String location;
-    private String sportCode;
-    private String sportId;
-    private String description;
-    private Integer capacity;
-    private LocalDateTime createdAt;
-    private LocalDateTime updatedAt;
+/**
+ * Immutable, so listings can be filled by JPQL constructor projections and
+ * cached without copying.
+ */
+public record VenueResponse(
+        Long id,
+        String name,
+        String location,
+        String sportCode,
+        String sportId,
+        String description,
+        Integer capacity,
+        Double latitude,
+        Double longitude,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
 }
-
-
@@ -0,0 +1,32 @@
+package com.stapubox.booking.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+public class VenueSearchRequest {
+    @NotBlank(message = "Query is required")
+    private String q;
+
+    private String sportCode;
+
+    /** With {@link #startTime} and {@link #endTime}, keeps only venues available then; needs a sport code. */
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate date;
+
+    @DateTimeFormat(pattern = "HH:mm:ss")
+    private LocalTime startTime;
+
+    @DateTimeFormat(pattern = "HH:mm:ss")
+    private LocalTime endTime;
+
+    @Min(value = 1, message = "Limit must be between 1 and 100")
+    @Max(value = 100, message = "Limit must be between 1 and 100")
+    private int limit = 20;
+}
@@ -0,0 +1,6 @@
+package com.stapubox.booking.event;
+
+import java.time.LocalDateTime;
+
+public record HoldSnapshot(Long bookingId, LocalDateTime expiresAt) {
+}
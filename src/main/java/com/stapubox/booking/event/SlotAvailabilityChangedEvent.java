@@ -0,0 +1,6 @@
+package com.stapubox.booking.event;
+
+import java.util.List;
+
+public record SlotAvailabilityChangedEvent(List<SlotSnapshot> slots, boolean available) {
+}
@@ -0,0 +1,4 @@
+package com.stapubox.booking.event;
+
+public record SlotHeldEvent(HoldSnapshot hold) {
+}
@@ -0,0 +1,12 @@
+package com.stapubox.booking.event;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * A slot as after-commit listeners see it. The venue's sport code travels
+ * with it, so no listener has to look the venue up after the commit.
+ */
+public record SlotSnapshot(Long slotId, Long venueId, String sportCode, LocalDate slotDate, LocalTime startTime,
+                           LocalTime endTime) {
+}
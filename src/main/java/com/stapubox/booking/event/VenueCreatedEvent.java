@@ -0,0 +1,6 @@
+package com.stapubox.booking.event;
+
+import com.stapubox.booking.dto.VenueResponse;
+
+public record VenueCreatedEvent(VenueSnapshot venue, VenueResponse response) {
+}
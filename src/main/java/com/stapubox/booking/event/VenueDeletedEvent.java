@@ -0,0 +1,4 @@
+package com.stapubox.booking.event;
+
+public record VenueDeletedEvent(Long venueId) {
+}
@@ -0,0 +1,4 @@
+package com.stapubox.booking.event;
+
+public record VenueSnapshot(Long venueId, String sportCode, Double latitude, Double longitude) {
+}
@@ -0,0 +1,13 @@
+package com.stapubox.booking.exception;
+
+/**
+ * An in-memory index that a request needs is still being built after startup.
+ * The server accepts requests before the build finishes, and an answer from a
+ * partial index would silently miss results, so the request is refused with
+ * 503 and can be retried in a few seconds.
+ */
+public class IndexNotReadyException extends RuntimeException {
+    public IndexNotReadyException(String message) {
+        super(message);
+    }
+}
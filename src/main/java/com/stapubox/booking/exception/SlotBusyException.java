@@ -0,0 +1,11 @@
+package com.stapubox.booking.exception;
+
+/**
+ * A booking attempt gave up waiting for its turn on a slot. Unlike a slot that
+ * is already booked, retrying later may succeed, so it is answered with 503.
+ */
+public class SlotBusyException extends RuntimeException {
+    public SlotBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.stapubox.booking.exception;
+
+/**
+ * The venue does not exist or has been deleted; answered with 404. It is an
+ * IllegalArgumentException so callers that treat a bad venue ID as invalid
+ * input keep working.
+ */
+public class VenueNotFoundException extends IllegalArgumentException {
+    public VenueNotFoundException(Long venueId) {
+        super("Venue not found with ID: " + venueId);
+    }
+}
@@ -0,0 +1,138 @@
+package com.stapubox.booking.hold;
+
+import com.stapubox.booking.config.BookingProperties;
+import com.stapubox.booking.event.HoldSnapshot;
+import com.stapubox.booking.event.SlotHeldEvent;
+import com.stapubox.booking.model.Booking.BookingStatus;
+import com.stapubox.booking.repository.BookingRepository;
+import com.stapubox.booking.service.BookingService;
+import com.stapubox.booking.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Releases holds that were not confirmed in time. Every hold is put on a
+ * {@link TimingWheel} when it commits, and a tick each {@code booking.hold.tick}
+ * hands the holds that came due to {@link BookingService#releaseExpiredHolds}
+ * in batches, so the database is only touched when something expires. The
+ * wheel is rebuilt from the HELD rows at startup, and a slow sweep picks up
+ * expired holds this instance never scheduled, such as those of another node.
+ * Tick and sweep run on their own thread rather than the shared scheduler, so
+ * a slow job elsewhere cannot hold back expiry past {@code booking.hold.ttl}.
+ */
+@Component
+@Slf4j
+public class HoldExpiryScheduler {
+    private final BookingService bookingService;
+    private final BookingRepository bookingRepository;
+    private final ShardRouter shardRouter;
+    private final BookingProperties.Hold properties;
+    private final TimingWheel<Long> wheel;
+    private final Counter released;
+    private final ScheduledExecutorService executor;
+
+    public HoldExpiryScheduler(BookingService bookingService, BookingRepository bookingRepository,
+                               ShardRouter shardRouter, BookingProperties bookingProperties,
+                               MeterRegistry meterRegistry) {
+        this.bookingService = bookingService;
+        this.bookingRepository = bookingRepository;
+        this.shardRouter = shardRouter;
+        this.properties = bookingProperties.getHold();
+        this.wheel = new TimingWheel<>(properties.getTick().toMillis(), properties.getWheelSize(),
+                System.currentTimeMillis());
+        this.released = Counter.builder("booking.holds.released").register(meterRegistry);
+        Gauge.builder("booking.holds.scheduled", wheel, TimingWheel::size).register(meterRegistry);
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "hold-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        List<HoldSnapshot> holds = shardRouter.fanOut(shard -> bookingRepository.findHoldSnapshots(BookingStatus.HELD));
+        holds.forEach(this::schedule);
+        log.info("Scheduled expiry of {} outstanding holds", holds.size());
+        long tickMillis = properties.getTick().toMillis();
+        long sweepMillis = properties.getSweepInterval().toMillis();
+        executor.scheduleWithFixedDelay(() -> runQuietly("tick", this::tick), tickMillis, tickMillis,
+                TimeUnit.MILLISECONDS);
+        executor.scheduleWithFixedDelay(() -> runQuietly("sweep", this::sweep), sweepMillis, sweepMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @TransactionalEventListener
+    public void onSlotHeld(SlotHeldEvent event) {
+        schedule(event.hold());
+    }
+
+    public void tick() {
+        release(wheel.advance(System.currentTimeMillis()));
+    }
+
+    public void sweep() {
+        int batchSize = properties.getReleaseBatchSize();
+        shardRouter.forEachShard(shard -> {
+            List<Long> expired;
+            do {
+                expired = bookingRepository.findExpiredHoldIds(BookingStatus.HELD, LocalDateTime.now(), Limit.of(batchSize));
+            } while (release(expired) == batchSize);
+        });
+    }
+
+    /** A periodic task that throws is never run again, so failures are logged and the next run retries. */
+    private void runQuietly(String task, Runnable runnable) {
+        try {
+            runnable.run();
+        } catch (RuntimeException e) {
+            log.warn("Hold expiry {} failed: {}", task, e.getMessage());
+        }
+    }
+
+    private void schedule(HoldSnapshot hold) {
+        wheel.schedule(hold.bookingId(), hold.expiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+    }
+
+    /** Releases the given holds shard by shard and batch by batch, and returns how many were actually released. */
+    private int release(List<Long> bookingIds) {
+        int total = 0;
+        int batchSize = properties.getReleaseBatchSize();
+        Map<Integer, List<Long>> byShard = bookingIds.stream().collect(Collectors.groupingBy(shardRouter::shardOf));
+        for (List<Long> shardIds : byShard.values()) {
+            for (int from = 0; from < shardIds.size(); from += batchSize) {
+                List<Long> batch = shardIds.subList(from, Math.min(from + batchSize, shardIds.size()));
+                try {
+                    total += bookingService.releaseExpiredHolds(batch);
+                } catch (RuntimeException e) {
+                    // Left HELD in the database, so the next sweep retries them.
+                    log.warn("Failed to release {} expired holds: {}", batch.size(), e.getMessage());
+                }
+            }
+        }
+        released.increment(total);
+        return total;
+    }
+}
@@ -0,0 +1,112 @@
+package com.stapubox.booking.hold;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel. Level 0 has {@code wheelSize} buckets of one tick
+ * each; every further level has buckets as wide as the whole level below it,
+ * and levels are added on demand. Scheduling places an entry in one bucket in
+ * O(1). Advancing the clock drains one level-0 bucket per tick and, whenever a
+ * higher-level bucket comes due, spreads its entries over the levels below.
+ * Entries are never cancelled; the caller re-checks state when they fire.
+ */
+public class TimingWheel<T> {
+    private final long tickMillis;
+    private final int wheelSize;
+    private final List<Level<T>> levels = new ArrayList<>();
+    /** Start of the level-0 tick that has not been drained yet. */
+    private long currentTime;
+    private int size;
+
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("Tick must be positive and the wheel must have at least 2 buckets");
+        }
+        this.tickMillis = tickMillis;
+        this.wheelSize = wheelSize;
+        this.currentTime = startMillis - Math.floorMod(startMillis, tickMillis);
+        levels.add(new Level<>(tickMillis, wheelSize));
+    }
+
+    /** Schedules {@code item} to fire at {@code expiresAtMillis}; times in the past fire on the next tick. */
+    public synchronized void schedule(T item, long expiresAtMillis) {
+        insert(new Entry<>(item, Math.max(expiresAtMillis, currentTime)));
+        size++;
+    }
+
+    /** Moves the clock to {@code nowMillis} and returns every item whose time has passed. */
+    public synchronized List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        while (currentTime + tickMillis <= nowMillis) {
+            List<Entry<T>> due = levels.get(0).take(currentTime);
+            if (due != null) {
+                due.forEach(entry -> expired.add(entry.item()));
+            }
+            currentTime += tickMillis;
+            // Cascade from the top so entries moved down can be cascaded again in the same step.
+            for (int i = levels.size() - 1; i >= 1; i--) {
+                Level<T> level = levels.get(i);
+                if (currentTime % level.tick == 0) {
+                    List<Entry<T>> bucket = level.take(currentTime);
+                    if (bucket != null) {
+                        bucket.forEach(this::insert);
+                    }
+                }
+            }
+        }
+        size -= expired.size();
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void insert(Entry<T> entry) {
+        for (int i = 0; ; i++) {
+            if (i == levels.size()) {
+                levels.add(new Level<>(levels.get(i - 1).tick * wheelSize, wheelSize));
+            }
+            Level<T> level = levels.get(i);
+            long levelTime = currentTime - Math.floorMod(currentTime, level.tick);
+            if (entry.expiresAt() < levelTime + level.tick * wheelSize) {
+                level.add(entry);
+                return;
+            }
+        }
+    }
+
+    private record Entry<T>(T item, long expiresAt) {
+    }
+
+    private static final class Level<T> {
+        private final long tick;
+        private final List<Entry<T>>[] buckets;
+
+        @SuppressWarnings("unchecked")
+        Level(long tick, int wheelSize) {
+            this.tick = tick;
+            this.buckets = new List[wheelSize];
+        }
+
+        void add(Entry<T> entry) {
+            int index = index(entry.expiresAt());
+            if (buckets[index] == null) {
+                buckets[index] = new ArrayList<>();
+            }
+            buckets[index].add(entry);
+        }
+
+        List<Entry<T>> take(long time) {
+            int index = index(time);
+            List<Entry<T>> bucket = buckets[index];
+            buckets[index] = null;
+            return bucket;
+        }
+
+        private int index(long time) {
+            return (int) Math.floorMod(Math.floorDiv(time, tick), (long) buckets.length);
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.stapubox.booking.index;
+
+import com.stapubox.booking.event.SlotAvailabilityChangedEvent;
+import com.stapubox.booking.event.SlotSnapshot;
+import com.stapubox.booking.event.SlotsCreatedEvent;
+import com.stapubox.booking.event.VenueCreatedEvent;
+import com.stapubox.booking.event.VenueDeletedEvent;
+import com.stapubox.booking.event.VenueSnapshot;
+import com.stapubox.booking.repository.SlotRepository;
+import com.stapubox.booking.repository.VenueRepository;
+import com.stapubox.booking.shard.ShardRouter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Precomputed availability per (sport code, date): for every venue, a bitmap of
+ * the minutes covered by available slots plus a bitmap of the minutes at which
+ * an available slot starts. A venue can serve {@code [start, end)} when every
+ * minute in the range is covered and no slot starts strictly inside it, which
+ * is exactly "one available slot contains the range" for minute-aligned times.
+ */
+@Component
+@Slf4j
+public class AvailabilityIndex {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int WORDS = (MINUTES_PER_DAY + Long.SIZE - 1) / Long.SIZE;
+    /** Two bitmaps plus array headers, the VenueDay object and its map entry. */
+    private static final long BYTES_PER_VENUE_DAY = 2L * (16 + WORDS * 8L) + 24 + 48;
+    /** Index listeners run first, so caches of search results invalidate only after the index has changed. */
+    public static final int LISTENER_ORDER = 0;
+
+    private final SlotRepository slotRepository;
+    private final VenueRepository venueRepository;
+    private final ShardRouter shardRouter;
+
+    private final Map<DayKey, Map<Long, VenueDay>> days = new ConcurrentHashMap<>();
+    private final Map<Long, String> venueSports = new ConcurrentHashMap<>();
+    private volatile LocalDate coveredFrom;
+
+    public AvailabilityIndex(SlotRepository slotRepository, VenueRepository venueRepository, ShardRouter shardRouter,
+                             MeterRegistry meterRegistry) {
+        this.slotRepository = slotRepository;
+        this.venueRepository = venueRepository;
+        this.shardRouter = shardRouter;
+        Gauge.builder("availability.index.venue.days", this, AvailabilityIndex::venueDayCount).register(meterRegistry);
+        Gauge.builder("availability.index.memory.bytes", this, AvailabilityIndex::estimatedMemoryBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LocalDate from = LocalDate.now();
+        long started = System.nanoTime();
+        for (VenueSnapshot venue : shardRouter.fanOut(shard -> venueRepository.findAllSnapshots())) {
+            venueSports.put(venue.venueId(), venue.sportCode());
+        }
+        List<SlotSnapshot> slots = shardRouter.fanOut(shard -> slotRepository.findAvailableSnapshotsFrom(from));
+        slots.forEach(slot -> update(slot, true));
+        coveredFrom = from;
+        log.info("Availability index built with {} available slots over {} venue-days (~{} KB) in {} ms",
+                slots.size(), venueDayCount(), estimatedMemoryBytes() / 1024, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Whether the index can answer this query: it must be built, cover the
+     * date, and the times must fall on whole minutes.
+     */
+    public boolean canAnswer(LocalDate date, LocalTime startTime, LocalTime endTime) {
+        LocalDate from = coveredFrom;
+        return from != null && !date.isBefore(from)
+                && startTime.getSecond() == 0 && startTime.getNano() == 0
+                && endTime.getSecond() == 0 && endTime.getNano() == 0;
+    }
+
+    public List<Long> findAvailableVenueIds(String sportCode, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        Map<Long, VenueDay> venues = days.get(new DayKey(normalize(sportCode), date));
+        if (venues == null) {
+            return List.of();
+        }
+        int start = startTime.toSecondOfDay() / 60;
+        int end = endTime.toSecondOfDay() / 60;
+        List<Long> venueIds = new ArrayList<>();
+        venues.forEach((venueId, day) -> {
+            if (day.canServe(start, end)) {
+                venueIds.add(venueId);
+            }
+        });
+        venueIds.sort(null);
+        return venueIds;
+    }
+
+    /** Whether the venue can serve the range; the single-venue form of {@link #findAvailableVenueIds}. */
+    public boolean canServe(String sportCode, LocalDate date, long venueId, LocalTime startTime, LocalTime endTime) {
+        Map<Long, VenueDay> venues = days.get(new DayKey(normalize(sportCode), date));
+        VenueDay day = venues != null ? venues.get(venueId) : null;
+        return day != null && day.canServe(startTime.toSecondOfDay() / 60, endTime.toSecondOfDay() / 60);
+    }
+
+    /** The sport code the index has for a venue, or {@code null} if it does not know the venue. */
+    public String sportCodeOf(Long venueId) {
+        return venueSports.get(venueId);
+    }
+
+    public int venueDayCount() {
+        return days.values().stream().mapToInt(Map::size).sum();
+    }
+
+    public long estimatedMemoryBytes() {
+        return venueDayCount() * BYTES_PER_VENUE_DAY + venueSports.size() * 64L;
+    }
+
+    @TransactionalEventListener
+    public void onVenueCreated(VenueCreatedEvent event) {
+        venueSports.put(event.venue().venueId(), event.venue().sportCode());
+    }
+
+    @TransactionalEventListener
+    @Order(LISTENER_ORDER)
+    public void onVenueDeleted(VenueDeletedEvent event) {
+        String sportCode = venueSports.remove(event.venueId());
+        if (sportCode != null) {
+            String key = normalize(sportCode);
+            days.forEach((day, venues) -> {
+                if (day.sportCode().equals(key)) {
+                    venues.remove(event.venueId());
+                }
+            });
+        }
+    }
+
+    @TransactionalEventListener
+    @Order(LISTENER_ORDER)
+    public void onSlotsCreated(SlotsCreatedEvent event) {
+        event.slots().forEach(slot -> update(slot, true));
+    }
+
+    @TransactionalEventListener
+    @Order(LISTENER_ORDER)
+    public void onSlotAvailabilityChanged(SlotAvailabilityChangedEvent event) {
+        event.slots().forEach(slot -> update(slot, event.available()));
+    }
+
+    @Scheduled(cron = "${availability.index.evict-cron:0 5 0 * * *}")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        days.keySet().removeIf(key -> key.date().isBefore(today));
+        if (coveredFrom != null && coveredFrom.isBefore(today)) {
+            coveredFrom = today;
+        }
+    }
+
+    /** Runs after commit, so it takes the sport code from the snapshot rather than the database. */
+    private void update(SlotSnapshot slot, boolean available) {
+        String sportCode = slot.sportCode();
+        if (sportCode == null) {
+            return;
+        }
+        // Round inwards so a partially covered minute never counts as available.
+        int start = (slot.startTime().toSecondOfDay() + 59) / 60;
+        int end = slot.endTime().toSecondOfDay() / 60;
+        if (start >= end) {
+            return;
+        }
+        VenueDay day = days.computeIfAbsent(new DayKey(normalize(sportCode), slot.slotDate()), key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(slot.venueId(), id -> new VenueDay());
+        day.update(start, end, available);
+    }
+
+    private static String normalize(String sportCode) {
+        return sportCode.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record DayKey(String sportCode, LocalDate date) {
+    }
+
+    static final class VenueDay {
+        private final long[] covered = new long[WORDS];
+        private final long[] starts = new long[WORDS];
+
+        synchronized void update(int start, int end, boolean available) {
+            if (available) {
+                setRange(covered, start, end);
+                starts[start >>> 6] |= 1L << start;
+            } else {
+                clearRange(covered, start, end);
+                starts[start >>> 6] &= ~(1L << start);
+            }
+        }
+
+        synchronized boolean canServe(int start, int end) {
+            return allSet(covered, start, end) && noneSet(starts, start + 1, end);
+        }
+
+        private static void setRange(long[] bits, int from, int to) {
+            for (int i = from; i < to; ) {
+                int word = i >>> 6;
+                int upto = Math.min(to, (word + 1) << 6);
+                bits[word] |= rangeMask(i, upto);
+                i = upto;
+            }
+        }
+
+        private static void clearRange(long[] bits, int from, int to) {
+            for (int i = from; i < to; ) {
+                int word = i >>> 6;
+                int upto = Math.min(to, (word + 1) << 6);
+                bits[word] &= ~rangeMask(i, upto);
+                i = upto;
+            }
+        }
+
+        private static boolean allSet(long[] bits, int from, int to) {
+            for (int i = from; i < to; ) {
+                int word = i >>> 6;
+                int upto = Math.min(to, (word + 1) << 6);
+                long mask = rangeMask(i, upto);
+                if ((bits[word] & mask) != mask) {
+                    return false;
+                }
+                i = upto;
+            }
+            return true;
+        }
+
+        private static boolean noneSet(long[] bits, int from, int to) {
+            for (int i = from; i < to; ) {
+                int word = i >>> 6;
+                int upto = Math.min(to, (word + 1) << 6);
+                if ((bits[word] & rangeMask(i, upto)) != 0) {
+                    return false;
+                }
+                i = upto;
+            }
+            return true;
+        }
+
+        /** Bits {@code from} to {@code to - 1} of a word, where both lie in the same word. */
+        private static long rangeMask(int from, int to) {
+            int width = to - from;
+            long mask = width == 64 ? -1L : (1L << width) - 1;
+            return mask << (from & 63);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.stapubox.booking.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Slots of one venue on one day, as seconds of the day, kept sorted by start
+ * time. {@code maxEnd[i]}
+ * holds the largest end among the first {@code i + 1} slots, so an overlap
+ * test is a binary search on {@code starts} plus one lookup, even if the
+ * stored slots happen to overlap each other.
+ */
+public final class DaySchedule {
+    private int size;
+    private long[] ids = new long[8];
+    private int[] starts = new int[8];
+    private int[] ends = new int[8];
+    private int[] maxEnd = new int[8];
+
+    public synchronized List<Long> findOverlapping(int start, int end) {
+        int candidates = lowerBound(starts, size, end);
+        List<Long> overlapping = new ArrayList<>(1);
+        for (int i = candidates - 1; i >= 0 && maxEnd[i] > start; i--) {
+            if (ends[i] > start) {
+                overlapping.add(ids[i]);
+            }
+        }
+        return overlapping;
+    }
+
+    public synchronized void add(long id, int start, int end) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                return;
+            }
+        }
+        if (size == ids.length) {
+            int capacity = size * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            maxEnd = Arrays.copyOf(maxEnd, capacity);
+        }
+        int position = lowerBound(starts, size, start + 1);
+        int tail = size - position;
+        System.arraycopy(ids, position, ids, position + 1, tail);
+        System.arraycopy(starts, position, starts, position + 1, tail);
+        System.arraycopy(ends, position, ends, position + 1, tail);
+        ids[position] = id;
+        starts[position] = start;
+        ends[position] = end;
+        size++;
+        recomputeMaxEnd(position);
+    }
+
+    public synchronized void remove(long id) {
+        for (int i = 0; i < size; i++) {
+            if (ids[i] == id) {
+                int tail = size - i - 1;
+                System.arraycopy(ids, i + 1, ids, i, tail);
+                System.arraycopy(starts, i + 1, starts, i, tail);
+                System.arraycopy(ends, i + 1, ends, i, tail);
+                size--;
+                recomputeMaxEnd(i);
+                return;
+            }
+        }
+    }
+
+    private void recomputeMaxEnd(int from) {
+        int running = from > 0 ? maxEnd[from - 1] : Integer.MIN_VALUE;
+        for (int i = from; i < size; i++) {
+            running = Math.max(running, ends[i]);
+            maxEnd[i] = running;
+        }
+    }
+
+    /** First index whose start is {@code >= value}. */
+    private static int lowerBound(int[] values, int length, int value) {
+        int low = 0;
+        int high = length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,106 @@
+package com.stapubox.booking.index;
+
+import com.stapubox.booking.event.SlotSnapshot;
+import com.stapubox.booking.event.SlotsCreatedEvent;
+import com.stapubox.booking.event.VenueDeletedEvent;
+import com.stapubox.booking.repository.SlotRepository;
+import com.stapubox.booking.shard.ShardRouter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process index of slot intervals per venue and date, used to reject
+ * overlapping slots without a database round-trip. Only dates from the day the
+ * index was built onwards are covered, and past dates are evicted nightly.
+ * New slots are added once their transaction commits. The index only ever
+ * proves a conflict: it misses slots created by other instances, so an empty
+ * answer must still be confirmed against the database.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SlotIntervalIndex {
+    private final SlotRepository slotRepository;
+    private final ShardRouter shardRouter;
+
+    private final Map<Long, Map<LocalDate, DaySchedule>> venues = new ConcurrentHashMap<>();
+    private volatile LocalDate coveredFrom;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        LocalDate from = LocalDate.now();
+        long started = System.nanoTime();
+        List<SlotSnapshot> slots = shardRouter.fanOut(shard -> slotRepository.findSnapshotsFrom(from));
+        slots.forEach(this::add);
+        coveredFrom = from;
+        log.info("Slot interval index built with {} slots from {} in {} ms",
+                slots.size(), from, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public boolean covers(LocalDate date) {
+        LocalDate from = coveredFrom;
+        return from != null && !date.isBefore(from);
+    }
+
+    /**
+     * Returns the ids of indexed slots overlapping {@code [startTime, endTime)}
+     * at the given venue and date.
+     */
+    public List<Long> findOverlapping(Long venueId, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        Map<LocalDate, DaySchedule> days = venues.get(venueId);
+        DaySchedule schedule = days != null ? days.get(date) : null;
+        if (schedule == null) {
+            return List.of();
+        }
+        return schedule.findOverlapping(startTime.toSecondOfDay(), endTime.toSecondOfDay());
+    }
+
+    public void add(SlotSnapshot slot) {
+        venues.computeIfAbsent(slot.venueId(), id -> new ConcurrentHashMap<>())
+                .computeIfAbsent(slot.slotDate(), date -> new DaySchedule())
+                .add(slot.slotId(), slot.startTime().toSecondOfDay(), slot.endTime().toSecondOfDay());
+    }
+
+    public void remove(SlotSnapshot slot) {
+        Map<LocalDate, DaySchedule> days = venues.get(slot.venueId());
+        DaySchedule schedule = days != null ? days.get(slot.slotDate()) : null;
+        if (schedule != null) {
+            schedule.remove(slot.slotId());
+        }
+    }
+
+    public void removeVenue(Long venueId) {
+        venues.remove(venueId);
+    }
+
+    @Scheduled(cron = "${slot.interval-index.evict-cron:0 5 0 * * *}")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        venues.values().forEach(days -> days.keySet().removeIf(date -> date.isBefore(today)));
+        venues.values().removeIf(Map::isEmpty);
+        if (coveredFrom != null && coveredFrom.isBefore(today)) {
+            coveredFrom = today;
+        }
+    }
+
+    @TransactionalEventListener
+    public void onSlotsCreated(SlotsCreatedEvent event) {
+        event.slots().forEach(this::add);
+    }
+
+    @TransactionalEventListener
+    public void onVenueDeleted(VenueDeletedEvent event) {
+        removeVenue(event.venueId());
+    }
+}
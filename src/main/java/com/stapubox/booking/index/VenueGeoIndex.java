@@ -0,0 +1,250 @@
+package com.stapubox.booking.index;
+
+import com.stapubox.booking.config.BookingProperties;
+import com.stapubox.booking.event.VenueCreatedEvent;
+import com.stapubox.booking.event.VenueDeletedEvent;
+import com.stapubox.booking.event.VenueSnapshot;
+import com.stapubox.booking.repository.VenueRepository;
+import com.stapubox.booking.shard.ShardRouter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+
+/**
+ * Venues with coordinates, bucketed per sport code into a grid of square
+ * cells {@code booking.geo.cell-degrees} on a side. A search reads only the
+ * cells under the bounding box of its circle, so its cost follows the number
+ * of venues nearby rather than all venues of the sport. Built at startup and
+ * kept in step with venue creation and deletion. Requests are served before
+ * the startup build finishes, so callers check {@link #isBuilt()} and use the
+ * database until then.
+ */
+@Component
+@Slf4j
+public class VenueGeoIndex {
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private final VenueRepository venueRepository;
+    private final ShardRouter shardRouter;
+    private final double cellDegrees;
+    private final int rows;
+    private final int columns;
+
+    private final Map<String, Grid> grids = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> venues = new ConcurrentHashMap<>();
+    private volatile boolean built;
+
+    public VenueGeoIndex(VenueRepository venueRepository, ShardRouter shardRouter, BookingProperties bookingProperties,
+                         MeterRegistry meterRegistry) {
+        this.venueRepository = venueRepository;
+        this.shardRouter = shardRouter;
+        this.cellDegrees = bookingProperties.getGeo().getCellDegrees();
+        if (!(cellDegrees > 0 && cellDegrees <= 90)) {
+            throw new IllegalStateException("booking.geo.cell-degrees must be in (0, 90], got " + cellDegrees);
+        }
+        this.rows = (int) Math.ceil(180 / cellDegrees);
+        this.columns = (int) Math.ceil(360 / cellDegrees);
+        Gauge.builder("venue.geo.index.venues", venues, Map::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        shardRouter.fanOut(shard -> venueRepository.findAllSnapshots()).forEach(this::add);
+        built = true;
+        log.info("Geo index built with {} venues in {} ms", venues.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener
+    public void onVenueCreated(VenueCreatedEvent event) {
+        add(event.venue());
+    }
+
+    @TransactionalEventListener
+    @Order(AvailabilityIndex.LISTENER_ORDER)
+    public void onVenueDeleted(VenueDeletedEvent event) {
+        Entry entry = venues.remove(event.venueId());
+        if (entry == null) {
+            return;
+        }
+        Grid grid = grids.get(entry.sportCode());
+        grid.points.remove(event.venueId());
+        grid.cells.computeIfPresent(entry.cell(), (cell, points) -> {
+            points.remove(event.venueId());
+            return points.isEmpty() ? null : points;
+        });
+    }
+
+    /** Whether the startup build has finished; until then a search misses venues. */
+    public boolean isBuilt() {
+        return built;
+    }
+
+    /**
+     * Up to {@code limit} venues of the sport within {@code radiusKm} of the
+     * point that {@code filter} accepts, nearest first. A limited search looks
+     * within one cell's width first and doubles the radius until it has enough
+     * venues, so finding the nearest few reads few cells; {@code filter} sees
+     * each venue at most once, in order of distance.
+     */
+    public List<Nearby> search(String sportCode, double latitude, double longitude, double radiusKm, int limit,
+                               LongPredicate filter) {
+        Grid grid = grids.get(normalize(sportCode));
+        List<Nearby> found = new ArrayList<>();
+        if (grid == null || limit <= 0) {
+            return found;
+        }
+        double searched = -1;
+        double radius = limit >= grid.points.size() ? radiusKm : Math.min(radiusKm, cellDegrees * KM_PER_DEGREE);
+        while (true) {
+            List<Nearby> candidates = new ArrayList<>();
+            int within = collect(grid, latitude, longitude, radius, searched, candidates);
+            candidates.sort(Comparator.comparingDouble(Nearby::distanceKm).thenComparingLong(Nearby::venueId));
+            for (Nearby candidate : candidates) {
+                if (filter.test(candidate.venueId())) {
+                    found.add(candidate);
+                    if (found.size() == limit) {
+                        return found;
+                    }
+                }
+            }
+            if (radius >= radiusKm || within >= grid.points.size()) {
+                return found;
+            }
+            searched = radius;
+            radius = Math.min(radiusKm, radius * 2);
+        }
+    }
+
+    /** Great-circle distance by the haversine formula. */
+    public static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dLat = Math.toRadians(latitude2 - latitude1);
+        double dLng = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Adds the venues farther than {@code exclusiveKm} and at most
+     * {@code radiusKm} away to {@code out}; returns how many venues lie
+     * within {@code radiusKm} in all.
+     */
+    private int collect(Grid grid, double latitude, double longitude, double radiusKm, double exclusiveKm,
+                        List<Nearby> out) {
+        double angle = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+        double minLat = latitude - angle;
+        double maxLat = latitude + angle;
+        int fromColumn;
+        int toColumn;
+        double cosLat = Math.cos(Math.toRadians(latitude));
+        if (minLat <= -90 || maxLat >= 90 || Math.sin(Math.toRadians(angle)) >= cosLat) {
+            // The circle reaches a pole: every longitude is in range.
+            fromColumn = 0;
+            toColumn = columns - 1;
+        } else {
+            double dLng = Math.toDegrees(Math.asin(Math.sin(Math.toRadians(angle)) / cosLat));
+            fromColumn = column(longitude - dLng);
+            toColumn = column(longitude + dLng);
+            if (toColumn - fromColumn + 1 >= columns) {
+                fromColumn = 0;
+                toColumn = columns - 1;
+            }
+        }
+        int fromRow = row(minLat);
+        int toRow = row(maxLat);
+
+        int within = 0;
+        if ((long) (toRow - fromRow + 1) * (toColumn - fromColumn + 1) > grid.cells.size()) {
+            // Fewer occupied cells than cells in the box: scanning the occupied ones is cheaper.
+            for (Map<Long, Point> points : grid.cells.values()) {
+                within += collect(points, latitude, longitude, radiusKm, exclusiveKm, out);
+            }
+            return within;
+        }
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                Map<Long, Point> points = grid.cells.get(cell(row, Math.floorMod(column, columns)));
+                if (points != null) {
+                    within += collect(points, latitude, longitude, radiusKm, exclusiveKm, out);
+                }
+            }
+        }
+        return within;
+    }
+
+    private static int collect(Map<Long, Point> points, double latitude, double longitude, double radiusKm,
+                               double exclusiveKm, List<Nearby> out) {
+        int within = 0;
+        for (Map.Entry<Long, Point> venue : points.entrySet()) {
+            Point point = venue.getValue();
+            double distance = distanceKm(latitude, longitude, point.latitude(), point.longitude());
+            if (distance <= radiusKm) {
+                within++;
+                if (distance > exclusiveKm) {
+                    out.add(new Nearby(venue.getKey(), distance));
+                }
+            }
+        }
+        return within;
+    }
+
+    private void add(VenueSnapshot venue) {
+        if (venue.latitude() == null || venue.longitude() == null) {
+            return;
+        }
+        Point point = new Point(venue.latitude(), venue.longitude());
+        String sportCode = normalize(venue.sportCode());
+        long cell = cell(row(point.latitude()), Math.floorMod(column(point.longitude()), columns));
+        Grid grid = grids.computeIfAbsent(sportCode, code -> new Grid());
+        grid.points.put(venue.venueId(), point);
+        grid.cells.computeIfAbsent(cell, key -> new ConcurrentHashMap<>()).put(venue.venueId(), point);
+        venues.put(venue.venueId(), new Entry(sportCode, cell));
+    }
+
+    private int row(double latitude) {
+        return Math.max(0, Math.min(rows - 1, (int) Math.floor((latitude + 90) / cellDegrees)));
+    }
+
+    /** Not wrapped, so a range across the antimeridian stays increasing; wrap with floorMod on lookup. */
+    private int column(double longitude) {
+        return (int) Math.floor((longitude + 180) / cellDegrees);
+    }
+
+    private long cell(int row, int column) {
+        return (long) row * columns + column;
+    }
+
+    private static String normalize(String sportCode) {
+        return sportCode.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public record Nearby(long venueId, double distanceKm) {
+    }
+
+    private record Point(double latitude, double longitude) {
+    }
+
+    private record Entry(String sportCode, long cell) {
+    }
+
+    private static final class Grid {
+        private final Map<Long, Point> points = new ConcurrentHashMap<>();
+        private final Map<Long, Map<Long, Point>> cells = new ConcurrentHashMap<>();
+    }
+}
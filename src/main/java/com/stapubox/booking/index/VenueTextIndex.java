@@ -0,0 +1,362 @@
+package com.stapubox.booking.index;
+
+import com.stapubox.booking.dto.VenueResponse;
+import com.stapubox.booking.event.VenueCreatedEvent;
+import com.stapubox.booking.event.VenueDeletedEvent;
+import com.stapubox.booking.exception.IndexNotReadyException;
+import com.stapubox.booking.repository.VenueRepository;
+import com.stapubox.booking.shard.ShardRouter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over venue name, location and description. Text is split on
+ * anything that is not a letter or digit, lowercased and stripped of accents.
+ * Each venue gets a dense ordinal, and every term maps to the sorted
+ * ordinals of the venues containing it, once over all three fields and once
+ * over names alone. A query term matches every indexed term it is a prefix
+ * of, so the same lookup serves search-as-you-type; the postings of a query
+ * term are ORed into a bitset and the query terms ANDed together. Built at
+ * startup and kept in step with venue creation and deletion; queries are
+ * refused until the startup build has finished, and venues deleted while it
+ * runs are kept out even if its snapshot still has them. Ordinals of deleted venues are
+ * left as gaps and reclaimed by renumbering once they outnumber live venues.
+ */
+@Component
+@Slf4j
+public class VenueTextIndex {
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final VenueRepository venueRepository;
+    private final ShardRouter shardRouter;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /** By ordinal; null once the venue is deleted, until {@link #compact()} renumbers. */
+    private List<Document> documents = new ArrayList<>();
+    private final Map<Long, Integer> ordinals = new HashMap<>();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final TreeMap<String, Postings> nameTerms = new TreeMap<>();
+    private final Map<String, Postings> sports = new HashMap<>();
+    /** Venues deleted before the startup build finished, which it must not add back. */
+    private final Set<Long> deletedBeforeBuilt = new HashSet<>();
+    private volatile boolean built;
+
+    public VenueTextIndex(VenueRepository venueRepository, ShardRouter shardRouter, MeterRegistry meterRegistry) {
+        this.venueRepository = venueRepository;
+        this.shardRouter = shardRouter;
+        Gauge.builder("venue.text.index.venues", this, VenueTextIndex::size).register(meterRegistry);
+        Gauge.builder("venue.text.index.terms", this, VenueTextIndex::termCount).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long started = System.nanoTime();
+        shardRouter.fanOut(shard -> venueRepository.findAllResponses(), Comparator.comparing(VenueResponse::id))
+                .forEach(this::add);
+        lock.writeLock().lock();
+        try {
+            built = true;
+            deletedBeforeBuilt.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Text index built with {} venues and {} terms in {} ms",
+                size(), termCount(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener
+    public void onVenueCreated(VenueCreatedEvent event) {
+        add(event.response());
+    }
+
+    @TransactionalEventListener
+    @Order(AvailabilityIndex.LISTENER_ORDER)
+    public void onVenueDeleted(VenueDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!built) {
+                deletedBeforeBuilt.add(event.venueId());
+            }
+            Integer ordinal = ordinals.remove(event.venueId());
+            if (ordinal == null) {
+                return;
+            }
+            Document document = documents.set(ordinal, null);
+            document.terms().forEach(term -> remove(terms, term, ordinal));
+            document.nameTerms().forEach(term -> remove(nameTerms, term, ordinal));
+            remove(sports, document.sportCode(), ordinal);
+            if (documents.size() - ordinals.size() > ordinals.size()) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Venues containing every term of the query, optionally only of one sport,
+     * that {@code filter} accepts; at most {@code limit}. Venues whose name
+     * alone matches come first, each group in index order. {@code filter} is
+     * only asked until the limit is reached.
+     */
+    public List<VenueResponse> search(String query, String sportCode, int limit, Predicate<VenueResponse> filter) {
+        requireBuilt();
+        List<String> queryTerms = tokenize(query);
+        if (queryTerms.isEmpty()) {
+            throw new IllegalArgumentException("Query must contain a letter or digit");
+        }
+        lock.readLock().lock();
+        try {
+            BitSet matches = match(terms, queryTerms);
+            if (sportCode != null) {
+                Postings sport = sports.get(normalize(sportCode));
+                if (sport == null) {
+                    return List.of();
+                }
+                matches.and(sport.toBitSet());
+            }
+            BitSet nameMatches = match(nameTerms, queryTerms);
+            nameMatches.and(matches);
+            matches.andNot(nameMatches);
+
+            List<VenueResponse> results = new ArrayList<>();
+            collect(nameMatches, limit, filter, results);
+            collect(matches, limit, filter, results);
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Indexed terms starting with the last word of {@code prefix}, those in the most venues first. */
+    public List<String> suggest(String prefix, int limit) {
+        requireBuilt();
+        List<String> queryTerms = tokenize(prefix);
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+        String last = queryTerms.get(queryTerms.size() - 1);
+        Comparator<Map.Entry<String, Postings>> byFrequency = Comparator
+                .comparingInt((Map.Entry<String, Postings> entry) -> entry.getValue().size)
+                .thenComparing(Map.Entry::getKey, Comparator.reverseOrder());
+        lock.readLock().lock();
+        try {
+            // Min-heap of the best so far, so the expansion of a short prefix is kept to `limit` entries.
+            PriorityQueue<Map.Entry<String, Postings>> best = new PriorityQueue<>(byFrequency);
+            for (Map.Entry<String, Postings> entry : withPrefix(terms, last).entrySet()) {
+                best.add(entry);
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+            String[] suggestions = new String[best.size()];
+            for (int i = suggestions.length - 1; i >= 0; i--) {
+                suggestions[i] = best.poll().getKey();
+            }
+            return Arrays.asList(suggestions);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Whether the startup build has finished; until then searches are refused. */
+    public boolean isBuilt() {
+        return built;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int termCount() {
+        lock.readLock().lock();
+        try {
+            return terms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    private void add(VenueResponse venue) {
+        Set<String> nameTokens = new LinkedHashSet<>(tokenize(venue.name()));
+        Set<String> allTokens = new LinkedHashSet<>(nameTokens);
+        allTokens.addAll(tokenize(venue.location()));
+        allTokens.addAll(tokenize(venue.description()));
+        String sportCode = normalize(venue.sportCode());
+
+        lock.writeLock().lock();
+        try {
+            if (ordinals.containsKey(venue.id()) || deletedBeforeBuilt.contains(venue.id())) {
+                return;
+            }
+            int ordinal = documents.size();
+            documents.add(new Document(venue, sportCode, List.copyOf(allTokens), List.copyOf(nameTokens)));
+            ordinals.put(venue.id(), ordinal);
+            // Ordinals only grow, so appending keeps every postings list sorted.
+            allTokens.forEach(term -> terms.computeIfAbsent(term, key -> new Postings()).add(ordinal));
+            nameTokens.forEach(term -> nameTerms.computeIfAbsent(term, key -> new Postings()).add(ordinal));
+            sports.computeIfAbsent(sportCode, key -> new Postings()).add(ordinal);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Renumbers the live venues densely, in their current order, and rebuilds
+     * the postings from their stored terms. Caller holds the write lock.
+     */
+    private void compact() {
+        List<Document> live = new ArrayList<>(ordinals.size());
+        terms.clear();
+        nameTerms.clear();
+        sports.clear();
+        for (Document document : documents) {
+            if (document == null) {
+                continue;
+            }
+            int ordinal = live.size();
+            live.add(document);
+            ordinals.put(document.venue().id(), ordinal);
+            document.terms().forEach(term -> terms.computeIfAbsent(term, key -> new Postings()).add(ordinal));
+            document.nameTerms().forEach(term -> nameTerms.computeIfAbsent(term, key -> new Postings()).add(ordinal));
+            sports.computeIfAbsent(document.sportCode(), key -> new Postings()).add(ordinal);
+        }
+        documents = live;
+    }
+
+    private void requireBuilt() {
+        if (!built) {
+            throw new IndexNotReadyException("Venue search index is still loading, retry shortly");
+        }
+    }
+
+    private void collect(BitSet ordinalsToTake, int limit, Predicate<VenueResponse> filter, List<VenueResponse> out) {
+        for (int ordinal = ordinalsToTake.nextSetBit(0); ordinal >= 0 && out.size() < limit;
+             ordinal = ordinalsToTake.nextSetBit(ordinal + 1)) {
+            VenueResponse venue = documents.get(ordinal).venue();
+            if (filter.test(venue)) {
+                out.add(venue);
+            }
+        }
+    }
+
+    /** Ordinals of the venues matching every query term, each as a prefix. */
+    private BitSet match(NavigableMap<String, Postings> index, List<String> queryTerms) {
+        BitSet matches = null;
+        for (String queryTerm : queryTerms) {
+            BitSet termMatches = new BitSet(documents.size());
+            for (Postings postings : withPrefix(index, queryTerm).values()) {
+                postings.orInto(termMatches);
+            }
+            if (matches == null) {
+                matches = termMatches;
+            } else {
+                matches.and(termMatches);
+            }
+            if (matches.isEmpty()) {
+                break;
+            }
+        }
+        return matches;
+    }
+
+    private static NavigableMap<String, Postings> withPrefix(NavigableMap<String, Postings> index, String prefix) {
+        return index.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private static void remove(Map<String, Postings> index, String key, int ordinal) {
+        Postings postings = index.get(key);
+        if (postings != null && postings.remove(ordinal) && postings.size == 0) {
+            index.remove(key);
+        }
+    }
+
+    private static String normalize(String sportCode) {
+        return sportCode.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private record Document(VenueResponse venue, String sportCode, List<String> terms, List<String> nameTerms) {
+    }
+
+    /** Sorted, growable list of ordinals. */
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private int size;
+
+        void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+
+        boolean remove(int ordinal) {
+            int index = Arrays.binarySearch(ordinals, 0, size, ordinal);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(ordinals, index + 1, ordinals, index, size - index - 1);
+            size--;
+            return true;
+        }
+
+        void orInto(BitSet bits) {
+            for (int i = 0; i < size; i++) {
+                bits.set(ordinals[i]);
+            }
+        }
+
+        BitSet toBitSet() {
+            BitSet bits = new BitSet(size == 0 ? 0 : ordinals[size - 1] + 1);
+            orInto(bits);
+            return bits;
+        }
+    }
+}
@@ -15,7 +15,8 @@ import java.time.LocalDateTime;
     indexes = {
         @Index(name = "idx_booking_slot", columnList = "slot_id"),
         @Index(name = "idx_booking_status", columnList = "status"),
-        @Index(name = "idx_booking_customer_email", columnList = "customer_email")
+        @Index(name = "idx_booking_customer_email", columnList = "customer_email"),
+        @Index(name = "idx_booking_hold_expiry", columnList = "status, hold_expires_at")
     },
     uniqueConstraints = {
         @UniqueConstraint(name = "uk_booking_slot", columnNames = "slot_id")
@@ -62,6 +63,9 @@ public class Booking {
     @Column(name = "cancelled_at")
     private LocalDateTime cancelledAt;
 
+    @Column(name = "hold_expires_at")
+    private LocalDateTime holdExpiresAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -74,7 +78,7 @@ public class Booking {
     }
 
     public enum BookingStatus {
-        CONFIRMED, CANCELLED
+        CONFIRMED, CANCELLED, HELD
     }
 }
 
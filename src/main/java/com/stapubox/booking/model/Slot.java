@@ -12,6 +12,7 @@ import java.time.LocalTime;
 @Entity
 @Table(name = "slots", indexes = {
     @Index(name = "idx_slot_venue", columnList = "venue_id"),
+    @Index(name = "idx_slot_venue_date", columnList = "venue_id, slot_date, start_time"),
     @Index(name = "idx_slot_date_time", columnList = "slot_date, start_time, end_time"),
     @Index(name = "idx_slot_available", columnList = "is_available")
 })
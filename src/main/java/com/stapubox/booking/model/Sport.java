@@ -22,6 +22,10 @@ public class Sport {
 
     @Column(length = 255)
     private String name;
+
+    /** Id of the sport in the upstream sports API, kept so lookups by id work while it is down. */
+    @Column(name = "external_id", length = 50)
+    private String externalId;
 }
 
 
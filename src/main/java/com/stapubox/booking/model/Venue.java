@@ -36,7 +36,7 @@ public class Venue {
     @Column(name = "sport_code", nullable = false, length = 50)
     private String sportCode;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sport_id", foreignKey = @ForeignKey(name = "fk_venue_sport"))
     private Sport sport;
 
@@ -46,13 +46,25 @@ public class Venue {
     @Column(name = "capacity")
     private Integer capacity;
 
+    /** WGS84 degrees; both or neither are set. Venues without them never match a geo search. */
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
-    @OneToMany(mappedBy = "venue", cascade = CascadeType.ALL, orphanRemoval = true)
+    /** Set when the venue is deleted; its slots and bookings are then purged in the background. */
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    // Never cascaded: a venue's slots are purged in batches by VenueDeletionJob.
+    @OneToMany(mappedBy = "venue")
     private List<Slot> slots = new ArrayList<>();
 
     @PrePersist
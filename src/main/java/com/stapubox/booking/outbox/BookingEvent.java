@@ -0,0 +1,24 @@
+package com.stapubox.booking.outbox;
+
+import com.stapubox.booking.model.Booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Payload of a booking event as published downstream.
+ */
+public record BookingEvent(
+        Type type,
+        Long bookingId,
+        Long slotId,
+        Long venueId,
+        String customerName,
+        String customerEmail,
+        BookingStatus status,
+        Double totalAmount,
+        LocalDateTime occurredAt) {
+
+    public enum Type {
+        BOOKING_CREATED, BOOKING_CANCELLED, BOOKING_HELD, BOOKING_CONFIRMED, HOLD_EXPIRED
+    }
+}
@@ -0,0 +1,66 @@
+package com.stapubox.booking.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stapubox.booking.model.Booking;
+import com.stapubox.booking.model.OutboxEvent;
+import com.stapubox.booking.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Writes booking events to the outbox table as part of the caller's
+ * transaction, so an event exists exactly when its booking change commits.
+ * Each event costs one INSERT, or one batch for many bookings; delivery is left to {@link OutboxRelay}.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingEventOutbox {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(Booking booking, BookingEvent.Type type) {
+        outboxEventRepository.save(toOutboxEvent(booking, type));
+    }
+
+    /** Appends one event per booking with a single batched INSERT. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(List<Booking> bookings, BookingEvent.Type type) {
+        outboxEventRepository.insertAll(bookings.stream()
+                .map(booking -> toOutboxEvent(booking, type))
+                .collect(Collectors.toList()));
+    }
+
+    private OutboxEvent toOutboxEvent(Booking booking, BookingEvent.Type type) {
+        LocalDateTime occurredAt = type == BookingEvent.Type.BOOKING_CANCELLED && booking.getCancelledAt() != null
+                ? booking.getCancelledAt()
+                : LocalDateTime.now();
+        BookingEvent event = new BookingEvent(
+                type,
+                booking.getId(),
+                booking.getSlot().getId(),
+                booking.getSlot().getVenue().getId(),
+                booking.getCustomerName(),
+                booking.getCustomerEmail(),
+                booking.getStatus(),
+                booking.getTotalAmount(),
+                occurredAt);
+
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setSlotId(event.slotId());
+        outboxEvent.setEventType(type.name());
+        try {
+            outboxEvent.setPayload(objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize booking event", e);
+        }
+        return outboxEvent;
+    }
+}
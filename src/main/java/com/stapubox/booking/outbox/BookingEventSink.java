@@ -0,0 +1,14 @@
+package com.stapubox.booking.outbox;
+
+import com.stapubox.booking.model.OutboxEvent;
+
+import java.util.List;
+
+/**
+ * Downstream destination for booking events. A batch is delivered in outbox
+ * order, which keeps events for the same slot in order; it is retried as a
+ * whole if {@link #publish} throws, so consumers must tolerate duplicates.
+ */
+public interface BookingEventSink {
+    void publish(List<OutboxEvent> batch) throws Exception;
+}
@@ -0,0 +1,48 @@
+package com.stapubox.booking.outbox;
+
+import com.stapubox.booking.config.BookingProperties;
+import com.stapubox.booking.model.OutboxEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends each event's payload as one line to {@code booking.outbox.file}
+ * and forces the batch to disk before the relay deletes it from the outbox.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.outbox.sink", havingValue = "file")
+public class FileBookingEventSink implements BookingEventSink {
+    private final Path file;
+
+    public FileBookingEventSink(BookingProperties bookingProperties) {
+        this.file = Path.of(bookingProperties.getOutbox().getFile());
+    }
+
+    @Override
+    public void publish(List<OutboxEvent> batch) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        StringBuilder lines = new StringBuilder();
+        for (OutboxEvent event : batch) {
+            lines.append(event.getPayload()).append('\n');
+        }
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.stapubox.booking.outbox;
+
+import com.stapubox.booking.model.OutboxEvent;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Keeps published events in memory, for tests and local runs.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.outbox.sink", havingValue = "memory")
+public class InMemoryBookingEventSink implements BookingEventSink {
+    private final List<OutboxEvent> published = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<OutboxEvent> batch) {
+        published.addAll(batch);
+    }
+
+    public List<OutboxEvent> getPublished() {
+        return new ArrayList<>(published);
+    }
+
+    public void clear() {
+        published.clear();
+    }
+}
@@ -0,0 +1,21 @@
+package com.stapubox.booking.outbox;
+
+import com.stapubox.booking.model.OutboxEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "booking.outbox.sink", havingValue = "log", matchIfMissing = true)
+@Slf4j
+public class LogBookingEventSink implements BookingEventSink {
+
+    @Override
+    public void publish(List<OutboxEvent> batch) {
+        for (OutboxEvent event : batch) {
+            log.info("Booking event {} {}: {}", event.getId(), event.getEventType(), event.getPayload());
+        }
+    }
+}
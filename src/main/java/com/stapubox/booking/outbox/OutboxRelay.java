@@ -0,0 +1,113 @@
+package com.stapubox.booking.outbox;
+
+import com.stapubox.booking.config.BookingProperties;
+import com.stapubox.booking.model.OutboxEvent;
+import com.stapubox.booking.repository.OutboxEventRepository;
+import com.stapubox.booking.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the booking outbox to the configured {@link BookingEventSink}.
+ * Batches are read in ID order and deleted only after the sink accepted
+ * them, which gives at-least-once delivery. A failed batch stops the run and
+ * is retried whole on the next poll, so nothing behind it overtakes it.
+ * IDs follow insert order, not commit order: a transaction that inserts
+ * early and commits late is published after rows that committed before it,
+ * so there is no global commit order. Events of one slot do stay in commit
+ * order, as each change to a slot reads the state the previous one committed
+ * and so inserts its row after that commit. Run the relay on one instance only
+ * ({@code booking.outbox.relay-enabled}); two relays would interleave batches.
+ * Each shard has its own outbox, drained in turn; order holds per slot as a
+ * slot's events never leave its shard.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+    /** Upper bound on batches per poll, so one run cannot monopolize the scheduler thread. */
+    private static final int MAX_BATCHES_PER_RUN = 50;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final BookingEventSink sink;
+    private final ShardRouter shardRouter;
+    private final BookingProperties.Outbox properties;
+
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter published;
+    private final Counter failures;
+    private final Timer publishTimer;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, BookingEventSink sink, ShardRouter shardRouter,
+                       BookingProperties bookingProperties, MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sink = sink;
+        this.shardRouter = shardRouter;
+        this.properties = bookingProperties.getOutbox();
+        Gauge.builder("outbox.pending", pending, AtomicLong::get).register(meterRegistry);
+        Gauge.builder("outbox.lag.seconds", lagMillis, lag -> lag.get() / 1000.0).register(meterRegistry);
+        this.published = Counter.builder("outbox.published").register(meterRegistry);
+        this.failures = Counter.builder("outbox.publish.failures").register(meterRegistry);
+        this.publishTimer = Timer.builder("outbox.publish.batch").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${booking.outbox.poll-interval:PT0.5S}")
+    public void relay() {
+        if (!properties.isRelayEnabled()) {
+            return;
+        }
+        AtomicLong shardsPending = new AtomicLong();
+        AtomicLong shardsLagMillis = new AtomicLong();
+        shardRouter.forEachShard(shard -> {
+            shardsLagMillis.accumulateAndGet(relayShard(), Math::max);
+            shardsPending.addAndGet(outboxEventRepository.count());
+        });
+        lagMillis.set(shardsLagMillis.get());
+        pending.set(shardsPending.get());
+    }
+
+    /** Drains the outbox of the bound shard and returns the age of the oldest event still waiting. */
+    private long relayShard() {
+        int batchSize = properties.getBatchSize();
+        long lag = 0;
+        for (int run = 0; run < MAX_BATCHES_PER_RUN; run++) {
+            List<OutboxEvent> batch = outboxEventRepository.findAllByOrderByIdAsc(Limit.of(batchSize));
+            lag = batch.isEmpty() ? 0
+                    : Duration.between(batch.get(0).getCreatedAt(), LocalDateTime.now()).toMillis();
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            try {
+                publishTimer.recordCallable(() -> {
+                    sink.publish(batch);
+                    return null;
+                });
+            } catch (Exception e) {
+                failures.increment();
+                log.warn("Publishing {} outbox events from ID {} failed, will retry: {}",
+                        batch.size(), batch.get(0).getId(), e.getMessage());
+                break;
+            }
+
+            outboxEventRepository.deleteAllByIdInBatch(batch.stream().map(OutboxEvent::getId).collect(Collectors.toList()));
+            published.increment(batch.size());
+            if (batch.size() < batchSize) {
+                break;
+            }
+        }
+        return lag;
+    }
+}
@@ -0,0 +1,13 @@
+package com.stapubox.booking.repository;
+
+import com.stapubox.booking.model.Booking;
+
+import java.util.List;
+
+public interface BookingBatchRepository {
+    /**
+     * Inserts the given bookings with batched JDBC statements and sets the
+     * generated ids and timestamps back on them.
+     */
+    void insertAll(List<Booking> bookings);
+}
@@ -0,0 +1,66 @@
+package com.stapubox.booking.repository;
+
+import com.stapubox.booking.model.Booking;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class BookingBatchRepositoryImpl implements BookingBatchRepository {
+    private static final String INSERT_SQL =
+            "INSERT INTO bookings (slot_id, customer_name, customer_email, customer_phone, status, total_amount, " +
+            "created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<Booking> bookings) {
+        LocalDateTime now = LocalDateTime.now();
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Booking booking = bookings.get(i);
+                        ps.setLong(1, booking.getSlot().getId());
+                        ps.setString(2, booking.getCustomerName());
+                        ps.setString(3, booking.getCustomerEmail());
+                        ps.setString(4, booking.getCustomerPhone());
+                        ps.setString(5, booking.getStatus().name());
+                        if (booking.getTotalAmount() != null) {
+                            ps.setDouble(6, booking.getTotalAmount());
+                        } else {
+                            ps.setNull(6, Types.DOUBLE);
+                        }
+                        ps.setObject(7, now);
+                        ps.setObject(8, now);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return bookings.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < bookings.size() && i < keys.size(); i++) {
+            Object key = keys.get(i).values().iterator().next();
+            Booking booking = bookings.get(i);
+            booking.setId(((Number) key).longValue());
+            booking.setCreatedAt(now);
+            booking.setUpdatedAt(now);
+        }
+    }
+}
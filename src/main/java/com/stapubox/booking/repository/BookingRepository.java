@@ -1,20 +1,69 @@
 package com.stapubox.booking.repository;
 
+import com.stapubox.booking.dto.BookingResponse;
+import com.stapubox.booking.event.HoldSnapshot;
 import com.stapubox.booking.model.Booking;
 import com.stapubox.booking.model.Booking.BookingStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingBatchRepository {
     Optional<Booking> findBySlotId(Long slotId);
 
+    @Query("SELECT b FROM Booking b JOIN FETCH b.slot WHERE b.slot.id IN :slotIds")
+    List<Booking> findBySlotIds(@Param("slotIds") Collection<Long> slotIds);
+
     List<Booking> findByCustomerEmail(String customerEmail);
 
     List<Booking> findByStatus(BookingStatus status);
-}
 
+    @Query("SELECT new com.stapubox.booking.dto.BookingResponse(b.id, b.slot.id, b.customerName, b.customerEmail, " +
+           "b.customerPhone, b.status, b.totalAmount, b.createdAt, b.updatedAt, b.cancelledAt, b.holdExpiresAt) " +
+           "FROM Booking b ORDER BY b.id")
+    List<BookingResponse> findAllResponses();
+
+    @Query("SELECT new com.stapubox.booking.dto.BookingResponse(b.id, b.slot.id, b.customerName, b.customerEmail, " +
+           "b.customerPhone, b.status, b.totalAmount, b.createdAt, b.updatedAt, b.cancelledAt, b.holdExpiresAt) " +
+           "FROM Booking b WHERE b.id > :afterId ORDER BY b.id")
+    List<BookingResponse> findResponsesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.stapubox.booking.dto.BookingResponse(b.id, b.slot.id, b.customerName, b.customerEmail, " +
+           "b.customerPhone, b.status, b.totalAmount, b.createdAt, b.updatedAt, b.cancelledAt, b.holdExpiresAt) " +
+           "FROM Booking b ORDER BY b.id")
+    Stream<BookingResponse> streamAllResponses();
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id = :id")
+    Optional<Booking> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT new com.stapubox.booking.event.HoldSnapshot(b.id, b.holdExpiresAt) " +
+           "FROM Booking b WHERE b.status = :status")
+    List<HoldSnapshot> findHoldSnapshots(@Param("status") BookingStatus status);
+
+    @Query("SELECT b.id FROM Booking b WHERE b.status = :status AND b.holdExpiresAt <= :now ORDER BY b.holdExpiresAt")
+    List<Long> findExpiredHoldIds(@Param("status") BookingStatus status, @Param("now") LocalDateTime now, Limit limit);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b JOIN FETCH b.slot " +
+           "WHERE b.id IN :ids AND b.status = :status AND b.holdExpiresAt <= :now")
+    List<Booking> findExpiredHoldsForUpdate(@Param("ids") Collection<Long> ids,
+                                            @Param("status") BookingStatus status,
+                                            @Param("now") LocalDateTime now);
+}
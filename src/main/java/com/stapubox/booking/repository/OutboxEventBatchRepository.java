@@ -0,0 +1,12 @@
+package com.stapubox.booking.repository;
+
+import com.stapubox.booking.model.OutboxEvent;
+
+import java.util.List;
+
+public interface OutboxEventBatchRepository {
+    /**
+     * Inserts the given events with batched JDBC statements.
+     */
+    void insertAll(List<OutboxEvent> events);
+}
@@ -0,0 +1,27 @@
+package com.stapubox.booking.repository;
+
+import com.stapubox.booking.model.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class OutboxEventBatchRepositoryImpl implements OutboxEventBatchRepository {
+    private static final String INSERT_SQL =
+            "INSERT INTO booking_outbox (slot_id, event_type, payload, created_at) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<OutboxEvent> events) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_SQL, events, events.size(), (ps, event) -> {
+            ps.setLong(1, event.getSlotId());
+            ps.setString(2, event.getEventType());
+            ps.setString(3, event.getPayload());
+            ps.setObject(4, now);
+        });
+    }
+}
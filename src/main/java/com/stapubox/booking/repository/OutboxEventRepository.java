@@ -0,0 +1,13 @@
+package com.stapubox.booking.repository;
+
+import com.stapubox.booking.model.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long>, OutboxEventBatchRepository {
+    List<OutboxEvent> findAllByOrderByIdAsc(Limit limit);
+}
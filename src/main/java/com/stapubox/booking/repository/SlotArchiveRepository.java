@@ -0,0 +1,171 @@
+package com.stapubox.booking.repository;
+
+import com.stapubox.booking.dto.BookingResponse;
+import com.stapubox.booking.dto.SlotResponse;
+import com.stapubox.booking.model.Booking.BookingStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The {@code slots_archive} and {@code bookings_archive} tables, which hold
+ * slots and bookings of past dates moved out of the live tables. They have
+ * no foreign keys and are keyed by {@code (id, slot_date)}, so on MySQL they
+ * are range partitioned by month of {@code slot_date} and stored compressed;
+ * reads always name a date range, which prunes them to the months involved.
+ * Works on whichever shard is bound.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SlotArchiveRepository {
+    private static final String MAX_PARTITION = "p_max";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private static final String SLOT_COLUMNS =
+            "id, venue_id, slot_date, start_time, end_time, is_available, price, created_at, updated_at";
+    private static final String BOOKING_COLUMNS =
+            "id, slot_id, customer_name, customer_email, customer_phone, status, total_amount, " +
+            "created_at, updated_at, cancelled_at, hold_expires_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public boolean isMySql() {
+        return jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                connection.getMetaData().getDatabaseProductName().contains("MySQL"));
+    }
+
+    public void createTablesIfMissing() {
+        boolean mySql = isMySql();
+        String timestamp = mySql ? "DATETIME(6)" : "TIMESTAMP(6)";
+        String storage = mySql
+                ? " ROW_FORMAT=COMPRESSED PARTITION BY RANGE COLUMNS (slot_date) " +
+                  "(PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE))"
+                : "";
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS slots_archive (" +
+                "id BIGINT NOT NULL, " +
+                "venue_id BIGINT NOT NULL, " +
+                "slot_date DATE NOT NULL, " +
+                "start_time TIME NOT NULL, " +
+                "end_time TIME NOT NULL, " +
+                "is_available BOOLEAN NOT NULL, " +
+                "price DOUBLE, " +
+                "created_at " + timestamp + " NOT NULL, " +
+                "updated_at " + timestamp + ", " +
+                "archived_at " + timestamp + " NOT NULL, " +
+                "PRIMARY KEY (id, slot_date)" +
+                (mySql ? ", INDEX idx_slot_archive_venue_date (venue_id, slot_date))" : ")") + storage);
+        if (!mySql) {
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_slot_archive_venue_date ON slots_archive (venue_id, slot_date)");
+        }
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS bookings_archive (" +
+                "id BIGINT NOT NULL, " +
+                "slot_id BIGINT NOT NULL, " +
+                "slot_date DATE NOT NULL, " +
+                "customer_name VARCHAR(255) NOT NULL, " +
+                "customer_email VARCHAR(255) NOT NULL, " +
+                "customer_phone VARCHAR(20), " +
+                "status VARCHAR(20) NOT NULL, " +
+                "total_amount DOUBLE, " +
+                "created_at " + timestamp + " NOT NULL, " +
+                "updated_at " + timestamp + ", " +
+                "cancelled_at " + timestamp + ", " +
+                "hold_expires_at " + timestamp + ", " +
+                "archived_at " + timestamp + " NOT NULL, " +
+                "PRIMARY KEY (id, slot_date))" + storage);
+    }
+
+    /**
+     * Splits a monthly partition off {@code p_max} for every month up to and
+     * including {@code lastMonth} that has none yet. A no-op outside MySQL.
+     */
+    public void addMonthlyPartitions(LocalDate firstMonth, LocalDate lastMonth) {
+        if (!isMySql()) {
+            return;
+        }
+        for (String table : List.of("slots_archive", "bookings_archive")) {
+            String highest = jdbcTemplate.queryForObject(
+                    "SELECT MAX(partition_name) FROM information_schema.partitions " +
+                    "WHERE table_schema = DATABASE() AND table_name = ? AND partition_name <> ?",
+                    String.class, table, MAX_PARTITION);
+            LocalDate month = highest == null
+                    ? firstMonth.withDayOfMonth(1)
+                    : LocalDate.parse(highest.substring(1) + "01", DateTimeFormatter.BASIC_ISO_DATE).plusMonths(1);
+            StringBuilder partitions = new StringBuilder();
+            for (; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+                partitions.append("PARTITION ").append(month.format(PARTITION_NAME))
+                        .append(" VALUES LESS THAN ('").append(month.plusMonths(1)).append("'), ");
+            }
+            if (!partitions.isEmpty()) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " REORGANIZE PARTITION " + MAX_PARTITION + " INTO (" +
+                        partitions + "PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE))");
+            }
+        }
+    }
+
+    public Optional<LocalDate> findOldestLiveSlotDate() {
+        return Optional.ofNullable(jdbcTemplate.queryForObject("SELECT MIN(slot_date) FROM slots", LocalDate.class));
+    }
+
+    public List<Long> findLiveSlotIdsBefore(LocalDate cutoff, int limit) {
+        return jdbcTemplate.queryForList("SELECT id FROM slots WHERE slot_date < ? LIMIT ?",
+                Long.class, cutoff, limit);
+    }
+
+    /**
+     * Copies the slots and their bookings into the archive tables and deletes
+     * them from the live ones. Returns the number of bookings moved. Must run
+     * in a transaction.
+     */
+    public int moveToArchive(List<Long> slotIds, LocalDateTime archivedAt) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("slotIds", slotIds)
+                .addValue("archivedAt", archivedAt);
+        int bookings = namedParameterJdbcTemplate.update(
+                "INSERT INTO bookings_archive (" + BOOKING_COLUMNS + ", slot_date, archived_at) " +
+                "SELECT b." + BOOKING_COLUMNS.replace(", ", ", b.") + ", s.slot_date, :archivedAt " +
+                "FROM bookings b JOIN slots s ON s.id = b.slot_id WHERE b.slot_id IN (:slotIds)", params);
+        namedParameterJdbcTemplate.update(
+                "INSERT INTO slots_archive (" + SLOT_COLUMNS + ", archived_at) " +
+                "SELECT " + SLOT_COLUMNS + ", :archivedAt FROM slots WHERE id IN (:slotIds)", params);
+        namedParameterJdbcTemplate.update("DELETE FROM bookings WHERE slot_id IN (:slotIds)", params);
+        namedParameterJdbcTemplate.update("DELETE FROM slots WHERE id IN (:slotIds)", params);
+        return bookings;
+    }
+
+    public List<SlotResponse> findSlots(Long venueId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(
+                "SELECT a.id, a.venue_id, v.name, a.slot_date, a.start_time, a.end_time, a.is_available, a.price, " +
+                "a.created_at, a.updated_at FROM slots_archive a LEFT JOIN venues v ON v.id = a.venue_id " +
+                "WHERE a.venue_id = ? AND a.slot_date BETWEEN ? AND ? ORDER BY a.slot_date, a.start_time",
+                (rs, row) -> new SlotResponse(rs.getLong(1), rs.getLong(2), rs.getString(3),
+                        rs.getObject(4, LocalDate.class), rs.getObject(5, LocalTime.class),
+                        rs.getObject(6, LocalTime.class), rs.getBoolean(7), (Double) rs.getObject(8),
+                        timestamp(rs, 9), timestamp(rs, 10)),
+                venueId, from, to);
+    }
+
+    public Optional<BookingResponse> findBooking(Long id) {
+        return jdbcTemplate.query("SELECT " + BOOKING_COLUMNS + " FROM bookings_archive WHERE id = ?",
+                (rs, row) -> new BookingResponse(rs.getLong(1), rs.getLong(2), rs.getString(3), rs.getString(4),
+                        rs.getString(5), BookingStatus.valueOf(rs.getString(6)), (Double) rs.getObject(7),
+                        timestamp(rs, 8), timestamp(rs, 9), timestamp(rs, 10), timestamp(rs, 11)),
+                id).stream().findFirst();
+    }
+
+    private static LocalDateTime timestamp(ResultSet rs, int column) throws SQLException {
+        return rs.getObject(column, LocalDateTime.class);
+    }
+}
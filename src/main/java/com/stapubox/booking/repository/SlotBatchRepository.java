@@ -0,0 +1,13 @@
+package com.stapubox.booking.repository;
+
+import com.stapubox.booking.model.Slot;
+
+import java.util.List;
+
+public interface SlotBatchRepository {
+    /**
+     * Inserts the given slots for a venue with batched JDBC statements and
+     * sets the generated ids back on them.
+     */
+    void insertAll(Long venueId, List<Slot> slots);
+}
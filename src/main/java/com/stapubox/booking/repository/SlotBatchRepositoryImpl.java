@@ -0,0 +1,71 @@
+package com.stapubox.booking.repository;
+
+import com.stapubox.booking.model.Slot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class SlotBatchRepositoryImpl implements SlotBatchRepository {
+    private static final int BATCH_SIZE = 1000;
+    private static final String INSERT_SQL =
+            "INSERT INTO slots (venue_id, slot_date, start_time, end_time, is_available, price, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(Long venueId, List<Slot> slots) {
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < slots.size(); from += BATCH_SIZE) {
+            List<Slot> batch = slots.subList(from, Math.min(from + BATCH_SIZE, slots.size()));
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.batchUpdate(
+                    connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Slot slot = batch.get(i);
+                            ps.setLong(1, venueId);
+                            ps.setObject(2, slot.getSlotDate());
+                            ps.setObject(3, slot.getStartTime());
+                            ps.setObject(4, slot.getEndTime());
+                            ps.setBoolean(5, true);
+                            if (slot.getPrice() != null) {
+                                ps.setDouble(6, slot.getPrice());
+                            } else {
+                                ps.setNull(6, Types.DOUBLE);
+                            }
+                            ps.setObject(7, now);
+                            ps.setObject(8, now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return batch.size();
+                        }
+                    },
+                    keyHolder);
+
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < batch.size() && i < keys.size(); i++) {
+                Object key = keys.get(i).values().iterator().next();
+                Slot slot = batch.get(i);
+                slot.setId(((Number) key).longValue());
+                slot.setIsAvailable(true);
+                slot.setCreatedAt(now);
+                slot.setUpdatedAt(now);
+            }
+        }
+    }
+}
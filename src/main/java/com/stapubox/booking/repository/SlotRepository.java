@@ -1,25 +1,78 @@
 package com.stapubox.booking.repository;
 
+import com.stapubox.booking.dto.SlotResponse;
+import com.stapubox.booking.event.SlotSnapshot;
 import com.stapubox.booking.model.Slot;
-import com.stapubox.booking.model.Venue;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface SlotRepository extends JpaRepository<Slot, Long> {
+public interface SlotRepository extends JpaRepository<Slot, Long>, SlotBatchRepository {
+    String ACTIVE_VENUE = "EXISTS (SELECT 1 FROM Venue v WHERE v.id = s.venue.id AND v.deletedAt IS NULL)";
+
+    @EntityGraph(attributePaths = "venue")
     List<Slot> findByVenueId(Long venueId);
 
     List<Slot> findByVenueIdAndSlotDate(Long venueId, LocalDate slotDate);
 
+    long countByVenueId(Long venueId);
+
+    @Query("SELECT s.id FROM Slot s WHERE s.venue.id = :venueId ORDER BY s.id")
+    List<Long> findIdsByVenueId(@Param("venueId") Long venueId, Limit limit);
+
+    @Query("SELECT new com.stapubox.booking.dto.SlotResponse(s.id, v.id, v.name, s.slotDate, s.startTime, s.endTime, " +
+           "s.isAvailable, s.price, s.createdAt, s.updatedAt) FROM Slot s JOIN s.venue v WHERE v.id = :venueId AND v.deletedAt IS NULL ORDER BY s.id")
+    List<SlotResponse> findResponsesByVenueId(@Param("venueId") Long venueId);
+
+    @Query("SELECT new com.stapubox.booking.dto.SlotResponse(s.id, v.id, v.name, s.slotDate, s.startTime, s.endTime, " +
+           "s.isAvailable, s.price, s.createdAt, s.updatedAt) FROM Slot s JOIN s.venue v WHERE v.id = :venueId AND v.deletedAt IS NULL AND s.id > :afterId ORDER BY s.id")
+    List<SlotResponse> findResponsesByVenueIdAfter(@Param("venueId") Long venueId, @Param("afterId") Long afterId,
+                                                   Limit limit);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.stapubox.booking.dto.SlotResponse(s.id, v.id, v.name, s.slotDate, s.startTime, s.endTime, " +
+           "s.isAvailable, s.price, s.createdAt, s.updatedAt) FROM Slot s JOIN s.venue v WHERE v.id = :venueId AND v.deletedAt IS NULL ORDER BY s.id")
+    Stream<SlotResponse> streamResponsesByVenueId(@Param("venueId") Long venueId);
+
+    /**
+     * Available slots of a sport's venues on the given dates that start no
+     * later than {@code latestStart} and end no earlier than
+     * {@code earliestEnd}; one range scan of idx_slot_date_time.
+     */
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.stapubox.booking.dto.SlotResponse(s.id, v.id, v.name, s.slotDate, s.startTime, s.endTime, " +
+           "s.isAvailable, s.price, s.createdAt, s.updatedAt) FROM Slot s JOIN s.venue v " +
+           "WHERE s.slotDate IN :dates " +
+           "AND s.isAvailable = true " +
+           "AND s.startTime <= :latestStart " +
+           "AND s.endTime >= :earliestEnd " +
+           "AND v.sportCode = :sportCode " +
+           "AND v.deletedAt IS NULL")
+    Stream<SlotResponse> streamAvailableInWindow(
+            @Param("sportCode") String sportCode,
+            @Param("dates") Collection<LocalDate> dates,
+            @Param("latestStart") LocalTime latestStart,
+            @Param("earliestEnd") LocalTime earliestEnd
+    );
+
     @Query("SELECT s FROM Slot s WHERE s.venue.id = :venueId " +
            "AND s.slotDate = :date " +
            "AND s.startTime < :endTime " +
@@ -31,6 +84,33 @@ public interface SlotRepository extends JpaRepository<Slot, Long> {
             @Param("endTime") LocalTime endTime
     );
 
+    @Query("SELECT CASE WHEN COUNT(s) > 0 THEN true ELSE false END FROM Slot s WHERE s.venue.id = :venueId " +
+           "AND s.slotDate = :date " +
+           "AND s.startTime < :endTime " +
+           "AND s.endTime > :startTime")
+    boolean existsOverlappingSlot(
+            @Param("venueId") Long venueId,
+            @Param("date") LocalDate date,
+            @Param("startTime") LocalTime startTime,
+            @Param("endTime") LocalTime endTime
+    );
+
+    @Query("SELECT new com.stapubox.booking.event.SlotSnapshot(s.id, s.venue.id, s.venue.sportCode, s.slotDate, s.startTime, s.endTime) " +
+           "FROM Slot s WHERE s.slotDate >= :fromDate")
+    List<SlotSnapshot> findSnapshotsFrom(@Param("fromDate") LocalDate fromDate);
+
+    @Query("SELECT new com.stapubox.booking.event.SlotSnapshot(s.id, s.venue.id, s.venue.sportCode, s.slotDate, s.startTime, s.endTime) " +
+           "FROM Slot s WHERE s.slotDate >= :fromDate AND s.isAvailable = true AND s.venue.deletedAt IS NULL")
+    List<SlotSnapshot> findAvailableSnapshotsFrom(@Param("fromDate") LocalDate fromDate);
+
+    @Query("SELECT new com.stapubox.booking.event.SlotSnapshot(s.id, s.venue.id, s.venue.sportCode, s.slotDate, s.startTime, s.endTime) " +
+           "FROM Slot s WHERE s.venue.id = :venueId AND s.slotDate BETWEEN :fromDate AND :toDate")
+    List<SlotSnapshot> findSnapshotsByVenueAndDateRange(
+            @Param("venueId") Long venueId,
+            @Param("fromDate") LocalDate fromDate,
+            @Param("toDate") LocalDate toDate
+    );
+
     @Query("SELECT s FROM Slot s WHERE s.venue.id = :venueId " +
            "AND s.slotDate = :date " +
            "AND s.isAvailable = true " +
@@ -43,9 +123,30 @@ public interface SlotRepository extends JpaRepository<Slot, Long> {
             @Param("endTime") LocalTime endTime
     );
 
+    /**
+     * Slots of deleted venues cannot be claimed. The venue is checked in a
+     * subquery rather than a join, so only the slot row is locked.
+     */
     @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT s FROM Slot s WHERE s.id = :slotId AND s.isAvailable = true")
+    @Query("SELECT s FROM Slot s WHERE s.id = :slotId AND s.isAvailable = true AND " + ACTIVE_VENUE)
     Optional<Slot> findAvailableSlotForBooking(@Param("slotId") Long slotId);
+
+    @Modifying
+    @Query("UPDATE Slot s SET s.isAvailable = false, s.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE s.id = :slotId AND s.isAvailable = true AND " + ACTIVE_VENUE)
+    int claimAvailableSlot(@Param("slotId") Long slotId);
+
+    /** Row locks are taken in primary key order, so two carts sharing slots cannot deadlock. */
+    @Modifying
+    @Query("UPDATE Slot s SET s.isAvailable = false, s.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE s.id IN :slotIds AND s.isAvailable = true AND " + ACTIVE_VENUE)
+    int claimAvailableSlots(@Param("slotIds") Collection<Long> slotIds);
+
+    List<Slot> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Slot s SET s.isAvailable = true, s.updatedAt = CURRENT_TIMESTAMP WHERE s.id IN :slotIds")
+    int releaseSlots(@Param("slotIds") Collection<Long> slotIds);
 }
 
 
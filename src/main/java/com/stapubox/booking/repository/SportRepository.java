@@ -1,7 +1,10 @@
 package com.stapubox.booking.repository;
 
+import com.stapubox.booking.dto.SportSummary;
 import com.stapubox.booking.model.Sport;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,6 +13,9 @@ import java.util.Optional;
 public interface SportRepository extends JpaRepository<Sport, Long> {
     Optional<Sport> findByCode(String code);
     boolean existsByCode(String code);
+
+    @Query("SELECT new com.stapubox.booking.dto.SportSummary(s.id, s.code, s.name) FROM Sport s WHERE s.code = :code")
+    Optional<SportSummary> findSummaryByCode(@Param("code") String code);
 }
 
 
@@ -1,29 +1,80 @@
 package com.stapubox.booking.repository;
 
+import com.stapubox.booking.dto.VenueResponse;
+import com.stapubox.booking.event.VenueSnapshot;
 import com.stapubox.booking.model.Venue;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface VenueRepository extends JpaRepository<Venue, Long> {
-    List<Venue> findBySportCode(String sportCode);
+    @Query("SELECT v FROM Venue v WHERE v.id = :id AND v.deletedAt IS NULL")
+    Optional<Venue> findActiveById(@Param("id") Long id);
+
+    @Query("SELECT CASE WHEN COUNT(v) > 0 THEN true ELSE false END FROM Venue v WHERE v.id = :id AND v.deletedAt IS NULL")
+    boolean existsActiveById(@Param("id") Long id);
+
+    /** Locks the venue row, serializing slot creation for the venue. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM Venue v WHERE v.id = :id AND v.deletedAt IS NULL")
+    Optional<Venue> findActiveByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT v.id FROM Venue v WHERE v.deletedAt IS NOT NULL ORDER BY v.id")
+    List<Long> findDeletedIds();
+
+    /** Removes a deleted venue once its slots are gone. */
+    @Modifying
+    @Query("DELETE FROM Venue v WHERE v.id = :id AND v.deletedAt IS NOT NULL")
+    int deletePurged(@Param("id") Long id);
+
+    @Query("SELECT new com.stapubox.booking.dto.VenueResponse(v.id, v.name, v.location, v.sportCode, str(v.sport.id), " +
+           "v.description, v.capacity, v.latitude, v.longitude, v.createdAt, v.updatedAt) FROM Venue v WHERE v.deletedAt IS NULL ORDER BY v.id")
+    List<VenueResponse> findAllResponses();
+
+    @Query("SELECT new com.stapubox.booking.dto.VenueResponse(v.id, v.name, v.location, v.sportCode, str(v.sport.id), " +
+           "v.description, v.capacity, v.latitude, v.longitude, v.createdAt, v.updatedAt) FROM Venue v WHERE v.sportCode = :sportCode AND v.deletedAt IS NULL ORDER BY v.id")
+    List<VenueResponse> findResponsesBySportCode(@Param("sportCode") String sportCode);
+
+    @Query("SELECT new com.stapubox.booking.dto.VenueResponse(v.id, v.name, v.location, v.sportCode, str(v.sport.id), " +
+           "v.description, v.capacity, v.latitude, v.longitude, v.createdAt, v.updatedAt) FROM Venue v WHERE v.id > :afterId AND v.deletedAt IS NULL ORDER BY v.id")
+    List<VenueResponse> findResponsesAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.stapubox.booking.dto.VenueResponse(v.id, v.name, v.location, v.sportCode, str(v.sport.id), " +
+           "v.description, v.capacity, v.latitude, v.longitude, v.createdAt, v.updatedAt) FROM Venue v WHERE v.deletedAt IS NULL ORDER BY v.id")
+    Stream<VenueResponse> streamAllResponses();
+
+    @Query("SELECT new com.stapubox.booking.event.VenueSnapshot(v.id, v.sportCode, v.latitude, v.longitude) FROM Venue v WHERE v.deletedAt IS NULL")
+    List<VenueSnapshot> findAllSnapshots();
 
-    @Query("SELECT DISTINCT v FROM Venue v " +
+    @Query("SELECT new com.stapubox.booking.dto.VenueResponse(v.id, v.name, v.location, v.sportCode, str(v.sport.id), " +
+           "v.description, v.capacity, v.latitude, v.longitude, v.createdAt, v.updatedAt) FROM Venue v " +
            "WHERE v.sportCode = :sportCode " +
+           "AND v.deletedAt IS NULL " +
            "AND v.id IN (" +
            "  SELECT s.venue.id FROM Slot s " +
            "  WHERE s.slotDate = :date " +
            "  AND s.isAvailable = true " +
            "  AND s.startTime <= :startTime " +
            "  AND s.endTime >= :endTime" +
-           ")")
-    List<Venue> findAvailableVenuesBySportAndTimeRange(
+           ") ORDER BY v.id")
+    List<VenueResponse> findAvailableVenuesBySportAndTimeRange(
             @Param("sportCode") String sportCode,
             @Param("date") LocalDate date,
             @Param("startTime") LocalTime startTime,
@@ -0,0 +1,130 @@
+package com.stapubox.booking.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stapubox.booking.config.CacheConfig;
+import com.stapubox.booking.dto.AvailabilityRequest;
+import com.stapubox.booking.event.SlotAvailabilityChangedEvent;
+import com.stapubox.booking.event.SlotSnapshot;
+import com.stapubox.booking.event.SlotsCreatedEvent;
+import com.stapubox.booking.event.VenueDeletedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.DigestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Serialized availability search results, keyed on the normalized request.
+ * Entries hold the JSON bytes and their ETag, so a hit skips both the search
+ * and Jackson. Writes that touch a (sport code, date) invalidate only the
+ * results for that day: each day records when it was last invalidated and
+ * results computed before that are ignored. Entries otherwise expire with the
+ * short TTL of the {@code availability} cache.
+ */
+@Component
+@Slf4j
+public class AvailabilityResultCache {
+    private final AvailabilityService availabilityService;
+    private final ObjectMapper objectMapper;
+    private final Cache results;
+
+    private final Map<DayKey, Long> invalidatedAt = new ConcurrentHashMap<>();
+
+    public AvailabilityResultCache(AvailabilityService availabilityService, ObjectMapper objectMapper,
+                                   CacheManager cacheManager) {
+        this.availabilityService = availabilityService;
+        this.objectMapper = objectMapper;
+        this.results = cacheManager.getCache(CacheConfig.AVAILABILITY);
+    }
+
+    public Result get(AvailabilityRequest request) {
+        Key key = new Key(normalize(request.getSportCode()), request.getDate(), request.getStartTime(), request.getEndTime(),
+                request.getLatitude(), request.getLongitude(), request.getRadiusKm(), request.getLimit());
+        Result cached = results.get(key, Result.class);
+        if (cached != null && isCurrent(key.day(), cached.computedAt())) {
+            return cached;
+        }
+
+        // Taken before the search, so a write that commits while it runs makes the result stale.
+        long computedAt = System.nanoTime();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(availabilityService.getAvailableVenues(request));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize availability response", e);
+        }
+        Result result = new Result(json, "\"" + DigestUtils.md5DigestAsHex(json) + "\"", computedAt);
+        results.put(key, result);
+        return result;
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onSlotsCreated(SlotsCreatedEvent event) {
+        invalidate(event.slots());
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onSlotAvailabilityChanged(SlotAvailabilityChangedEvent event) {
+        invalidate(event.slots());
+    }
+
+    @TransactionalEventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void onVenueDeleted(VenueDeletedEvent event) {
+        results.clear();
+    }
+
+    @Scheduled(cron = "${availability.index.evict-cron:0 5 0 * * *}")
+    public void evictPastDays() {
+        LocalDate today = LocalDate.now();
+        invalidatedAt.keySet().removeIf(day -> day.date().isBefore(today));
+    }
+
+    private void invalidate(List<SlotSnapshot> slots) {
+        Set<DayKey> days = new HashSet<>();
+        for (SlotSnapshot slot : slots) {
+            days.add(new DayKey(normalize(slot.sportCode()), slot.slotDate()));
+        }
+        long now = System.nanoTime();
+        days.forEach(day -> invalidatedAt.put(day, now));
+    }
+
+    private boolean isCurrent(DayKey day, long computedAt) {
+        Long invalidated = invalidatedAt.get(day);
+        return invalidated == null || computedAt - invalidated > 0;
+    }
+
+    private static String normalize(String sportCode) {
+        return sportCode.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** Serialized response body, its strong ETag and when its search started ({@link System#nanoTime()}). */
+    public record Result(byte[] json, String etag, long computedAt) {
+    }
+
+    private record DayKey(String sportCode, LocalDate date) {
+    }
+
+    private record Key(String sportCode, LocalDate date, LocalTime startTime, LocalTime endTime,
+                       Double latitude, Double longitude, Double radiusKm, Integer limit) {
+        DayKey day() {
+            return new DayKey(sportCode, date);
+        }
+    }
+}
@@ -1,22 +1,62 @@
 package com.stapubox.booking.service;
 
+import com.stapubox.booking.config.BookingProperties;
 import com.stapubox.booking.dto.AvailabilityRequest;
+import com.stapubox.booking.dto.AvailabilityWindowRequest;
+import com.stapubox.booking.dto.SlotResponse;
 import com.stapubox.booking.dto.VenueResponse;
-import com.stapubox.booking.model.Venue;
+import com.stapubox.booking.index.AvailabilityIndex;
+import com.stapubox.booking.index.VenueGeoIndex;
+import com.stapubox.booking.repository.SlotRepository;
 import com.stapubox.booking.repository.VenueRepository;
+import com.stapubox.booking.shard.ShardRouter;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed("availability.service")
 @RequiredArgsConstructor
 @Slf4j
 public class AvailabilityService {
+    public static final int MAX_WINDOW_DAYS = 31;
+    /** Default latest end; LocalTime.MAX does not survive binding to a TIME column everywhere. */
+    private static final LocalTime END_OF_DAY = LocalTime.of(23, 59, 59);
+
+    private static final Comparator<SlotResponse> BY_TIME = Comparator.comparing(SlotResponse::slotDate)
+            .thenComparing(SlotResponse::startTime)
+            .thenComparing(SlotResponse::price, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(SlotResponse::id);
+    private static final Comparator<SlotResponse> BY_PRICE = Comparator
+            .comparing(SlotResponse::price, Comparator.nullsLast(Comparator.<Double>naturalOrder()))
+            .thenComparing(SlotResponse::slotDate)
+            .thenComparing(SlotResponse::startTime)
+            .thenComparing(SlotResponse::id);
+
     private final VenueRepository venueRepository;
+    private final SlotRepository slotRepository;
+    private final AvailabilityIndex availabilityIndex;
+    private final VenueService venueService;
+    private final ShardRouter shardRouter;
+    private final VenueGeoIndex venueGeoIndex;
+    private final BookingProperties bookingProperties;
 
     @Transactional(readOnly = true)
     public List<VenueResponse> getAvailableVenues(AvailabilityRequest request) {
@@ -26,30 +66,170 @@ public class AvailabilityService {
             throw new IllegalArgumentException("Start time must be before end time");
         }
 
-        List<Venue> availableVenues = venueRepository.findAvailableVenuesBySportAndTimeRange(
+        if (request.getLatitude() != null || request.getLongitude() != null) {
+            return getNearbyAvailableVenues(request);
+        }
+        if (request.getRadiusKm() != null || request.getLimit() != null) {
+            throw new IllegalArgumentException("radiusKm and limit require latitude and longitude");
+        }
+
+        if (availabilityIndex.canAnswer(request.getDate(), request.getStartTime(), request.getEndTime())) {
+            List<Long> venueIds = availabilityIndex.findAvailableVenueIds(
+                    request.getSportCode(), request.getDate(), request.getStartTime(), request.getEndTime());
+            if (venueIds.isEmpty()) {
+                return List.of();
+            }
+            // Both lists are sorted by id, so the cached venue list keeps the response order.
+            return venueService.getVenuesBySport(request.getSportCode()).stream()
+                    .filter(venue -> Collections.binarySearch(venueIds, venue.id()) >= 0)
+                    .collect(Collectors.toList());
+        }
+
+        return shardRouter.fanOut(shard -> venueRepository.findAvailableVenuesBySportAndTimeRange(
                 request.getSportCode(),
                 request.getDate(),
                 request.getStartTime(),
                 request.getEndTime()
-        );
+        ), Comparator.comparing(VenueResponse::id));
+    }
 
-        return availableVenues.stream()
-                .map(this::mapToResponse)
+    /**
+     * Available slots of a sport over a range of days that leave room for
+     * {@code durationMinutes} inside the daily window, as (venue, slot)
+     * pairs. Each shard answers with one range scan over the dates, streamed
+     * through a heap that keeps only the best {@code limit} rows, so memory
+     * follows the limit rather than the number of matching slots.
+     */
+    @Transactional(readOnly = true)
+    public List<SlotResponse> findSlotsInWindow(AvailabilityWindowRequest request) {
+        if (request.getFromDate().isAfter(request.getToDate())) {
+            throw new IllegalArgumentException("From date must not be after to date");
+        }
+        if (ChronoUnit.DAYS.between(request.getFromDate(), request.getToDate()) >= MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Date range must span at most " + MAX_WINDOW_DAYS + " days");
+        }
+        LocalTime earliestStart = request.getEarliestStart() != null ? request.getEarliestStart() : LocalTime.MIN;
+        LocalTime latestEnd = request.getLatestEnd() != null ? request.getLatestEnd() : END_OF_DAY;
+        if (!earliestStart.isBefore(latestEnd)) {
+            throw new IllegalArgumentException("Earliest start must be before latest end");
+        }
+        int durationSeconds = request.getDurationMinutes() * 60;
+        if (latestEnd.toSecondOfDay() - earliestStart.toSecondOfDay() < durationSeconds) {
+            throw new IllegalArgumentException("Duration does not fit between earliest start and latest end");
+        }
+
+        Set<DayOfWeek> days = request.getDaysOfWeek() == null || request.getDaysOfWeek().isEmpty()
+                ? EnumSet.allOf(DayOfWeek.class)
+                : EnumSet.copyOf(request.getDaysOfWeek());
+        List<LocalDate> dates = request.getFromDate().datesUntil(request.getToDate().plusDays(1))
+                .filter(date -> days.contains(date.getDayOfWeek()))
                 .collect(Collectors.toList());
+        if (dates.isEmpty()) {
+            return List.of();
+        }
+
+        // The duration fits where slot and window overlap exactly when the slot starts by
+        // latestEnd - duration, ends by earliestStart + duration, and is itself that long.
+        LocalTime latestStart = latestEnd.minusSeconds(durationSeconds);
+        LocalTime earliestEnd = earliestStart.plusSeconds(durationSeconds);
+        Comparator<SlotResponse> order = request.getSort() == AvailabilityWindowRequest.Sort.PRICE ? BY_PRICE : BY_TIME;
+        List<SlotResponse> slots = shardRouter.fanOut(shard -> {
+            try (Stream<SlotResponse> rows = slotRepository.streamAvailableInWindow(
+                    request.getSportCode(), dates, latestStart, earliestEnd)) {
+                return best(rows.filter(slot -> slot.endTime().toSecondOfDay() - slot.startTime().toSecondOfDay()
+                        >= durationSeconds), order, request.getLimit());
+            }
+        }, order);
+        return slots.size() > request.getLimit() ? slots.subList(0, request.getLimit()) : slots;
     }
 
-    private VenueResponse mapToResponse(Venue venue) {
-        VenueResponse response = new VenueResponse();
-        response.setId(venue.getId());
-        response.setName(venue.getName());
-        response.setLocation(venue.getLocation());
-        response.setSportCode(venue.getSportCode());
-        response.setSportId(venue.getSport() != null ? venue.getSport().getId().toString() : null);
-        response.setDescription(venue.getDescription());
-        response.setCapacity(venue.getCapacity());
-        response.setCreatedAt(venue.getCreatedAt());
-        response.setUpdatedAt(venue.getUpdatedAt());
-        return response;
+    /** The first {@code limit} rows in {@code order}, sorted, holding no more than that many at a time. */
+    private static <T> List<T> best(Stream<T> rows, Comparator<T> order, int limit) {
+        PriorityQueue<T> worstFirst = new PriorityQueue<>(limit + 1, order.reversed());
+        rows.forEach(row -> {
+            if (worstFirst.size() < limit) {
+                worstFirst.add(row);
+            } else if (order.compare(row, worstFirst.peek()) < 0) {
+                worstFirst.poll();
+                worstFirst.add(row);
+            }
+        });
+        List<T> best = new ArrayList<>(worstFirst);
+        best.sort(order);
+        return best;
     }
-}
 
+    /**
+     * Available venues around the requested point, nearest first. Once both
+     * indexes are built, the geo index walks venues outwards from the point
+     * and only those are checked for availability; otherwise the database
+     * result is filtered by distance.
+     */
+    private List<VenueResponse> getNearbyAvailableVenues(AvailabilityRequest request) {
+        if (request.getLatitude() == null || request.getLongitude() == null) {
+            throw new IllegalArgumentException("Latitude and longitude must be given together");
+        }
+        BookingProperties.Geo geo = bookingProperties.getGeo();
+        double radiusKm = request.getRadiusKm() != null ? request.getRadiusKm() : geo.getMaxRadiusKm();
+        int limit = request.getLimit() != null ? request.getLimit() : geo.getMaxResults();
+        if (radiusKm > geo.getMaxRadiusKm()) {
+            throw new IllegalArgumentException("radiusKm must be at most " + geo.getMaxRadiusKm());
+        }
+        if (limit > geo.getMaxResults()) {
+            throw new IllegalArgumentException("limit must be at most " + geo.getMaxResults());
+        }
+        double latitude = request.getLatitude();
+        double longitude = request.getLongitude();
+
+        // An unbuilt geo index would answer "no venues", and that answer would be cached.
+        if (venueGeoIndex.isBuilt()
+                && availabilityIndex.canAnswer(request.getDate(), request.getStartTime(), request.getEndTime())) {
+            List<VenueGeoIndex.Nearby> nearby = venueGeoIndex.search(request.getSportCode(), latitude, longitude,
+                    radiusKm, limit, venueId -> availabilityIndex.canServe(request.getSportCode(), request.getDate(),
+                            venueId, request.getStartTime(), request.getEndTime()));
+            if (nearby.isEmpty()) {
+                return List.of();
+            }
+            List<VenueResponse> venues = venueService.getVenuesBySport(request.getSportCode());
+            return nearby.stream()
+                    .map(venue -> findById(venues, venue.venueId()))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        }
+
+        return shardRouter.fanOut(shard -> venueRepository.findAvailableVenuesBySportAndTimeRange(
+                        request.getSportCode(),
+                        request.getDate(),
+                        request.getStartTime(),
+                        request.getEndTime()
+                )).stream()
+                .filter(venue -> venue.latitude() != null && venue.longitude() != null)
+                .filter(venue -> distanceKm(venue, latitude, longitude) <= radiusKm)
+                .sorted(Comparator.comparingDouble((VenueResponse venue) -> distanceKm(venue, latitude, longitude))
+                        .thenComparing(VenueResponse::id))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private static double distanceKm(VenueResponse venue, double latitude, double longitude) {
+        return VenueGeoIndex.distanceKm(latitude, longitude, venue.latitude(), venue.longitude());
+    }
+
+    /** Binary search of a list sorted by id. */
+    private static VenueResponse findById(List<VenueResponse> venues, long id) {
+        int low = 0;
+        int high = venues.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = venues.get(mid).id();
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return venues.get(mid);
+            }
+        }
+        return null;
+    }
+}
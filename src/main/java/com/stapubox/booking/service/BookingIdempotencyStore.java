@@ -0,0 +1,247 @@
+package com.stapubox.booking.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stapubox.booking.config.BookingProperties;
+import com.stapubox.booking.config.CacheConfig;
+import com.stapubox.booking.dto.BookingResponse;
+import com.stapubox.booking.model.IdempotencyKey;
+import com.stapubox.booking.repository.IdempotencyKeyRepository;
+import com.stapubox.booking.shard.ShardRouter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Responses to booking requests that carried an Idempotency-Key. Recent keys
+ * are answered from the size-bounded {@code idempotency} cache without a
+ * database round-trip; older ones from the {@code idempotency_keys} table,
+ * which is written in the booking transaction so a key exists exactly when
+ * its booking does. A key reused for a different request is rejected. Keys
+ * live on the shard {@link ShardRouter#placeIdempotencyKey} picks; callers
+ * bind it before calling in. A key whose booking runs on another shard is
+ * committed as pending first and completed afterwards; retries wait for it.
+ */
+@Component
+@Slf4j
+public class BookingIdempotencyStore {
+    public static final int MAX_KEY_LENGTH = 100;
+    /** Booking id of a key row whose booking has not finished yet. */
+    private static final long PENDING = 0L;
+    private static final long PENDING_POLL_MILLIS = 50;
+    private static final int MAX_CLAIM_ATTEMPTS = 3;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final ShardRouter shardRouter;
+    private final BookingProperties.Idempotency properties;
+    private final ObjectMapper objectMapper;
+    private final Cache responses;
+    private final TransactionTemplate keyTransaction;
+    private final Counter replayedFromMemory;
+    private final Counter replayedFromDatabase;
+
+    public BookingIdempotencyStore(IdempotencyKeyRepository idempotencyKeyRepository, ShardRouter shardRouter,
+                                   BookingProperties bookingProperties, ObjectMapper objectMapper,
+                                   CacheManager cacheManager, PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.shardRouter = shardRouter;
+        this.properties = bookingProperties.getIdempotency();
+        this.objectMapper = objectMapper;
+        this.responses = cacheManager.getCache(CacheConfig.IDEMPOTENCY);
+        this.keyTransaction = new TransactionTemplate(transactionManager);
+        this.replayedFromMemory = Counter.builder("booking.idempotency.replays").tag("source", "memory").register(meterRegistry);
+        this.replayedFromDatabase = Counter.builder("booking.idempotency.replays").tag("source", "database").register(meterRegistry);
+    }
+
+    public static void validateKey(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+    }
+
+    /**
+     * The response recorded for {@code key}, if the key has been used before
+     * with the same request. While that request is still booking, waits up to
+     * {@code booking.idempotency.pending-wait} for it and then fails with 409;
+     * if it fails meanwhile, the key is free again and nothing is returned.
+     */
+    public Optional<BookingResponse> find(String key, String requestHash) {
+        Stored stored = responses.get(key, Stored.class);
+        if (stored != null) {
+            replayedFromMemory.increment();
+            return Optional.of(replay(stored, requestHash));
+        }
+
+        long deadline = System.nanoTime() + properties.getPendingWait().toNanos();
+        Optional<IdempotencyKey> row = idempotencyKeyRepository.findByIdempotencyKey(key);
+        while (row.isPresent() && row.get().getBookingId() == PENDING) {
+            if (!row.get().getRequestHash().equals(requestHash)) {
+                throw new IllegalArgumentException("Idempotency-Key was already used for a different booking request");
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                throw new IllegalStateException("A booking request with this Idempotency-Key is still in progress");
+            }
+            sleep(PENDING_POLL_MILLIS);
+            row = idempotencyKeyRepository.findByIdempotencyKey(key);
+        }
+        if (row.isEmpty()) {
+            return Optional.empty();
+        }
+        stored = new Stored(row.get().getRequestHash(), deserialize(row.get().getResponse()));
+        responses.put(key, stored);
+        replayedFromDatabase.increment();
+        return Optional.of(replay(stored, requestHash));
+    }
+
+    /**
+     * Records the response in the caller's transaction. A concurrent request
+     * with the same key fails on {@code uk_idempotency_key} and rolls back.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String key, String requestHash, BookingResponse response) {
+        IdempotencyKey row = new IdempotencyKey();
+        row.setIdempotencyKey(key);
+        row.setRequestHash(requestHash);
+        complete(row, response);
+        idempotencyKeyRepository.save(row);
+    }
+
+    /**
+     * Runs {@code booking}, which commits on another shard, with the key held
+     * on this one. No transaction stays open across the booking, so no
+     * connection to this shard is held while it waits for the other. The key
+     * is committed as pending first; a concurrent request with the same key
+     * then waits in {@link #find} for the response. The response is filled in
+     * with a second commit, and a failed booking deletes the pending row so
+     * the key can be retried. A crash between the booking and the second
+     * commit leaves the key pending until it is purged; retries of it get 409
+     * rather than a second booking.
+     */
+    public BookingResponse recordAround(String key, String requestHash, Supplier<BookingResponse> booking) {
+        IdempotencyKey row = null;
+        for (int attempt = 1; row == null; attempt++) {
+            try {
+                row = keyTransaction.execute(status -> idempotencyKeyRepository.saveAndFlush(pending(key, requestHash)));
+            } catch (DataIntegrityViolationException e) {
+                // Taken by a concurrent request: answer with its response, or claim the key if it failed.
+                Optional<BookingResponse> recorded = find(key, requestHash);
+                if (recorded.isPresent()) {
+                    return recorded.get();
+                }
+                if (attempt == MAX_CLAIM_ATTEMPTS) {
+                    throw new IllegalStateException("A booking request with this Idempotency-Key is still in progress");
+                }
+            }
+        }
+
+        BookingResponse response;
+        try {
+            response = booking.get();
+        } catch (RuntimeException e) {
+            release(row);
+            throw e;
+        }
+        IdempotencyKey claimed = row;
+        keyTransaction.executeWithoutResult(status -> {
+            complete(claimed, response);
+            idempotencyKeyRepository.save(claimed);
+        });
+        return response;
+    }
+
+    @Scheduled(cron = "${booking.idempotency.purge-cron:0 15 * * * *}")
+    public void purgeExpired() {
+        LocalDateTime before = LocalDateTime.now().minus(properties.getTtl());
+        shardRouter.forEachShard(shard -> {
+            int purged = idempotencyKeyRepository.deleteCreatedBefore(before);
+            if (purged > 0) {
+                log.info("Purged {} expired idempotency keys from shard {}", purged, shard);
+            }
+        });
+    }
+
+    public static String hash(Long slotId, String customerName, String customerEmail, String customerPhone) {
+        String canonical = slotId + "\n" + customerName + "\n" + customerEmail + "\n" + customerPhone;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(canonical.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static IdempotencyKey pending(String key, String requestHash) {
+        IdempotencyKey row = new IdempotencyKey();
+        row.setIdempotencyKey(key);
+        row.setRequestHash(requestHash);
+        row.setBookingId(PENDING);
+        row.setResponse("");
+        return row;
+    }
+
+    private void release(IdempotencyKey row) {
+        try {
+            keyTransaction.executeWithoutResult(status -> idempotencyKeyRepository.deleteById(row.getId()));
+        } catch (RuntimeException e) {
+            log.warn("Could not release Idempotency-Key {} after a failed booking; it stays pending until purged: {}",
+                    row.getIdempotencyKey(), e.getMessage());
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for an Idempotency-Key", e);
+        }
+    }
+
+    private void complete(IdempotencyKey row, BookingResponse response) {
+        row.setBookingId(response.id());
+        try {
+            row.setResponse(objectMapper.writeValueAsString(response));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize booking response", e);
+        }
+        // The cache is transaction-aware, so the entry only appears once the key commits.
+        responses.put(row.getIdempotencyKey(), new Stored(row.getRequestHash(), response));
+    }
+
+    private BookingResponse replay(Stored stored, String requestHash) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new IllegalArgumentException("Idempotency-Key was already used for a different booking request");
+        }
+        return stored.response();
+    }
+
+    private BookingResponse deserialize(String json) {
+        try {
+            return objectMapper.readValue(json, BookingResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to read stored booking response", e);
+        }
+    }
+
+    private record Stored(String requestHash, BookingResponse response) {
+    }
+}
@@ -1,41 +1,133 @@
 package com.stapubox.booking.service;
 
+import com.stapubox.booking.config.BookingProperties;
+import com.stapubox.booking.dto.BatchBookingRequest;
+import com.stapubox.booking.dto.BatchBookingResponse;
 import com.stapubox.booking.dto.BookingRequest;
 import com.stapubox.booking.dto.BookingResponse;
+import com.stapubox.booking.dto.PageResponse;
+import com.stapubox.booking.event.HoldSnapshot;
+import com.stapubox.booking.event.SlotAvailabilityChangedEvent;
+import com.stapubox.booking.event.SlotHeldEvent;
+import com.stapubox.booking.event.SlotSnapshot;
+import com.stapubox.booking.index.AvailabilityIndex;
 import com.stapubox.booking.model.Booking;
 import com.stapubox.booking.model.Booking.BookingStatus;
 import com.stapubox.booking.model.Slot;
+import com.stapubox.booking.outbox.BookingEvent;
+import com.stapubox.booking.outbox.BookingEventOutbox;
 import com.stapubox.booking.repository.BookingRepository;
+import com.stapubox.booking.repository.SlotArchiveRepository;
 import com.stapubox.booking.repository.SlotRepository;
+import com.stapubox.booking.shard.ShardRouter;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("booking.service")
 @RequiredArgsConstructor
 @Slf4j
 public class BookingService {
     private final BookingRepository bookingRepository;
     private final SlotRepository slotRepository;
+    private final BookingProperties bookingProperties;
+    private final SlotAdmissionGate slotAdmissionGate;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NdjsonExporter ndjsonExporter;
+    private final MeterRegistry meterRegistry;
+    private final BookingEventOutbox bookingEventOutbox;
+    private final BookingIdempotencyStore idempotencyStore;
+    private final ShardRouter shardRouter;
+    private final SlotArchiveRepository slotArchiveRepository;
+    private final AvailabilityIndex availabilityIndex;
 
-    @Transactional
+    /**
+     * Books a slot. The attempt first passes the in-memory admission gate, so
+     * concurrent requests for the same slot reach the database one at a time,
+     * and the transaction commits before the next one is let through.
+     */
     public BookingResponse createBooking(BookingRequest request) {
-        
-        Slot slot = slotRepository.findAvailableSlotForBooking(request.getSlotId())
-            .orElseThrow(() -> new IllegalArgumentException(
-                "Slot not found or not available for booking. Slot ID: " + request.getSlotId()));
+        return book(request, false, null);
+    }
+
+    /**
+     * Books a slot at most once per {@code idempotencyKey}. A retry with the
+     * same key and request gets the original response, usually from memory,
+     * without queueing for the slot again. The key is kept on its own shard,
+     * so reusing it for a slot on any other shard is caught as well.
+     */
+    public BookingResponse createBooking(BookingRequest request, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return createBooking(request);
+        }
+        BookingIdempotencyStore.validateKey(idempotencyKey);
+        String requestHash = BookingIdempotencyStore.hash(request.getSlotId(), request.getCustomerName(),
+                request.getCustomerEmail(), request.getCustomerPhone());
+        int keyShard = shardRouter.placeIdempotencyKey(idempotencyKey);
+        return shardRouter.onShard(keyShard, () -> idempotencyStore.find(idempotencyKey, requestHash)
+                .orElseGet(() -> {
+                    try {
+                        // On the key's shard the key is written in the booking transaction itself.
+                        return keyShard == shardRouter.shardOf(request.getSlotId())
+                                ? book(request, false, idempotencyKey)
+                                : idempotencyStore.recordAround(idempotencyKey, requestHash,
+                                        () -> book(request, false, null));
+                    } catch (RuntimeException e) {
+                        // A concurrent request with the same key may have booked the slot first.
+                        return idempotencyStore.find(idempotencyKey, requestHash).orElseThrow(() -> e);
+                    }
+                }));
+    }
+
+    /**
+     * Reserves a slot for {@code booking.hold.ttl}. The slot is claimed exactly
+     * as for a booking, but the booking stays HELD until it is confirmed; an
+     * unconfirmed hold is released by {@link com.stapubox.booking.hold.HoldExpiryScheduler}.
+     */
+    public BookingResponse holdSlot(BookingRequest request) {
+        return book(request, true, null);
+    }
+
+    private BookingResponse book(BookingRequest request, boolean hold, String idempotencyKey) {
+        return shardRouter.onShardOf(request.getSlotId(), () -> slotAdmissionGate.admit(request.getSlotId(), () ->
+                transactionTemplate.execute(status -> bookingProperties.getStrategy() == BookingProperties.Strategy.OPTIMISTIC
+                        ? createBookingOptimistic(request, hold, idempotencyKey)
+                        : createBookingPessimistic(request, hold, idempotencyKey))));
+    }
+
+    private BookingResponse createBookingPessimistic(BookingRequest request, boolean hold, String idempotencyKey) {
+        Slot slot = rowLockWait().record(() -> slotRepository.findAvailableSlotForBooking(request.getSlotId()))
+            .orElseThrow(() -> failure("slot_unavailable", new IllegalArgumentException(
+                "Slot not found or not available for booking. Slot ID: " + request.getSlotId())));
 
         if (!slot.getIsAvailable()) {
-            throw new IllegalStateException("Slot is no longer available. Slot ID: " + request.getSlotId());
+            throw failure("slot_unavailable",
+                new IllegalStateException("Slot is no longer available. Slot ID: " + request.getSlotId()));
         }
 
         if (bookingRepository.findBySlotId(slot.getId()).isPresent()) {
-            throw new IllegalStateException("Slot already has a booking. Slot ID: " + slot.getId());
+            throw failure("already_booked",
+                new IllegalStateException("Slot already has a booking. Slot ID: " + slot.getId()));
         }
 
         Booking booking = new Booking();
@@ -43,63 +135,299 @@ public class BookingService {
         booking.setCustomerName(request.getCustomerName());
         booking.setCustomerEmail(request.getCustomerEmail());
         booking.setCustomerPhone(request.getCustomerPhone());
-        booking.setStatus(BookingStatus.CONFIRMED);
         booking.setTotalAmount(slot.getPrice());
+        if (hold) {
+            booking.setStatus(BookingStatus.HELD);
+            booking.setHoldExpiresAt(LocalDateTime.now().plus(bookingProperties.getHold().getTtl()));
+        } else {
+            booking.setStatus(BookingStatus.CONFIRMED);
+        }
 
         slot.setIsAvailable(false);
 
         Booking savedBooking = bookingRepository.save(booking);
-        log.info("Created booking with ID: {} for slot ID: {}", savedBooking.getId(), slot.getId());
-        return mapToResponse(savedBooking);
+        return created(savedBooking, slot, idempotencyKey);
+    }
+
+    /**
+     * Claims the slot with a conditional UPDATE instead of SELECT ... FOR UPDATE.
+     * The row lock taken by the UPDATE is only held for the booking insert and
+     * the commit, and a losing request fails as soon as its UPDATE matches no
+     * row. The unique constraint on bookings.slot_id catches an existing booking.
+     */
+    private BookingResponse createBookingOptimistic(BookingRequest request, boolean hold, String idempotencyKey) {
+        Slot slot = slotRepository.findById(request.getSlotId())
+            .orElseThrow(() -> failure("slot_unavailable", new IllegalArgumentException(
+                "Slot not found or not available for booking. Slot ID: " + request.getSlotId())));
+
+        // The claim is a bulk UPDATE, so the loaded slot is left untouched to avoid a second UPDATE on flush.
+        if (!slot.getIsAvailable() || rowLockWait().record(() -> slotRepository.claimAvailableSlot(slot.getId())) == 0) {
+            throw failure("slot_unavailable", new IllegalArgumentException(
+                "Slot not found or not available for booking. Slot ID: " + request.getSlotId()));
+        }
+
+        Booking booking = new Booking();
+        booking.setSlot(slot);
+        booking.setCustomerName(request.getCustomerName());
+        booking.setCustomerEmail(request.getCustomerEmail());
+        booking.setCustomerPhone(request.getCustomerPhone());
+        booking.setTotalAmount(slot.getPrice());
+        if (hold) {
+            booking.setStatus(BookingStatus.HELD);
+            booking.setHoldExpiresAt(LocalDateTime.now().plus(bookingProperties.getHold().getTtl()));
+        } else {
+            booking.setStatus(BookingStatus.CONFIRMED);
+        }
+
+        Booking savedBooking;
+        try {
+            savedBooking = bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            throw failure("already_booked",
+                new IllegalStateException("Slot already has a booking. Slot ID: " + slot.getId()));
+        }
+        return created(savedBooking, slot, idempotencyKey);
+    }
+
+    private BookingResponse created(Booking booking, Slot slot, String idempotencyKey) {
+        if (booking.getStatus() == BookingStatus.HELD) {
+            bookingEventOutbox.append(booking, BookingEvent.Type.BOOKING_HELD);
+            eventPublisher.publishEvent(new SlotHeldEvent(new HoldSnapshot(booking.getId(), booking.getHoldExpiresAt())));
+        } else {
+            bookingEventOutbox.append(booking, BookingEvent.Type.BOOKING_CREATED);
+        }
+        publishAvailabilityChange(slot, false);
+        log.info("Created {} booking with ID: {} for slot ID: {}", booking.getStatus(), booking.getId(), slot.getId());
+        BookingResponse response = mapToResponse(booking);
+        if (idempotencyKey != null) {
+            idempotencyStore.record(idempotencyKey, BookingIdempotencyStore.hash(slot.getId(),
+                    booking.getCustomerName(), booking.getCustomerEmail(), booking.getCustomerPhone()), response);
+        }
+        return response;
+    }
+
+    /**
+     * Books several slots for one customer, all or none. The slots are claimed
+     * in ascending ID order with one conditional UPDATE, and the bookings and
+     * their outbox events are written with one batched INSERT each, so the
+     * number of round-trips does not grow with the cart. All slots must be on
+     * one shard, as a transaction cannot span databases.
+     */
+    public BatchBookingResponse createBookings(BatchBookingRequest request) {
+        List<Long> slotIds = request.getSlotIds().stream().distinct().sorted().collect(Collectors.toList());
+        if (slotIds.size() != request.getSlotIds().size()) {
+            throw new IllegalArgumentException("Slot IDs in a batch must be distinct");
+        }
+        return shardRouter.onShard(shardRouter.commonShardOf(slotIds), () -> slotAdmissionGate.admitAll(slotIds, () ->
+                transactionTemplate.execute(status -> createBookingsInBatch(slotIds, request))));
+    }
+
+    private BatchBookingResponse createBookingsInBatch(List<Long> slotIds, BatchBookingRequest request) {
+        int claimed = rowLockWait().record(() -> slotRepository.claimAvailableSlots(slotIds));
+        if (claimed != slotIds.size()) {
+            // Thrown inside the transaction, so the slots already claimed are rolled back.
+            throw failure("slot_unavailable", new IllegalStateException(
+                "One or more slots are not found or not available for booking. Slot IDs: " + slotIds));
+        }
+
+        List<Slot> slots = slotRepository.findByIdInOrderByIdAsc(slotIds);
+        List<Booking> bookings = slots.stream().map(slot -> {
+            Booking booking = new Booking();
+            booking.setSlot(slot);
+            booking.setCustomerName(request.getCustomerName());
+            booking.setCustomerEmail(request.getCustomerEmail());
+            booking.setCustomerPhone(request.getCustomerPhone());
+            booking.setStatus(BookingStatus.CONFIRMED);
+            booking.setTotalAmount(slot.getPrice());
+            return booking;
+        }).collect(Collectors.toList());
+
+        try {
+            bookingRepository.insertAll(bookings);
+        } catch (DataIntegrityViolationException e) {
+            throw failure("already_booked",
+                new IllegalStateException("One or more slots already have a booking. Slot IDs: " + slotIds));
+        }
+        bookingEventOutbox.appendAll(bookings, BookingEvent.Type.BOOKING_CREATED);
+        eventPublisher.publishEvent(new SlotAvailabilityChangedEvent(slots.stream()
+                .map(this::snapshot)
+                .collect(Collectors.toList()), false));
+        log.info("Created {} bookings for slot IDs: {}", bookings.size(), slotIds);
+
+        List<BookingResponse> responses = bookings.stream().map(this::mapToResponse).collect(Collectors.toList());
+        double totalAmount = bookings.stream()
+                .map(Booking::getTotalAmount)
+                .filter(Objects::nonNull)
+                .mapToDouble(Double::doubleValue)
+                .sum();
+        return new BatchBookingResponse(responses, totalAmount);
     }
 
     @Transactional(readOnly = true)
     public BookingResponse getBookingById(Long id) {
-        Booking booking = bookingRepository.findById(id)
+        Booking booking = shardRouter.onShardOf(id, () -> bookingRepository.findById(id))
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found with ID: " + id));
         return mapToResponse(booking);
     }
 
+    /** A booking moved to the archive together with its past-dated slot. */
+    public BookingResponse getArchivedBooking(Long id) {
+        return shardRouter.onShardOf(id, () -> slotArchiveRepository.findBooking(id))
+                .orElseThrow(() -> new IllegalArgumentException("Archived booking not found with ID: " + id));
+    }
+
     @Transactional
     public BookingResponse cancelBooking(Long id) {
+        return shardRouter.onShardOf(id, () -> cancel(id));
+    }
+
+    private BookingResponse cancel(Long id) {
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found with ID: " + id));
 
         if (booking.getStatus() == BookingStatus.CANCELLED) {
-            throw new IllegalStateException("Booking is already cancelled. Booking ID: " + id);
+            throw failure("already_cancelled",
+                new IllegalStateException("Booking is already cancelled. Booking ID: " + id));
         }
 
+        boolean held = booking.getStatus() == BookingStatus.HELD;
         booking.setStatus(BookingStatus.CANCELLED);
         booking.setCancelledAt(LocalDateTime.now());
 
         Slot slot = booking.getSlot();
         slot.setIsAvailable(true);
 
+        if (held) {
+            // A released hold never became a booking; removing it frees uk_booking_slot for the next customer.
+            bookingEventOutbox.append(booking, BookingEvent.Type.BOOKING_CANCELLED);
+            bookingRepository.delete(booking);
+            publishAvailabilityChange(slot, true);
+            log.info("Released hold with ID: {}", id);
+            return mapToResponse(booking);
+        }
+
         Booking savedBooking = bookingRepository.save(booking);
+        bookingEventOutbox.append(savedBooking, BookingEvent.Type.BOOKING_CANCELLED);
+        publishAvailabilityChange(slot, true);
         log.info("Cancelled booking with ID: {}", id);
         return mapToResponse(savedBooking);
     }
 
+    @Transactional
+    public BookingResponse confirmHold(Long id) {
+        return shardRouter.onShardOf(id, () -> confirm(id));
+    }
+
+    private BookingResponse confirm(Long id) {
+        Booking booking = bookingRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new IllegalArgumentException("Booking not found with ID: " + id));
+
+        if (booking.getStatus() != BookingStatus.HELD) {
+            throw failure("not_held",
+                new IllegalStateException("Booking is not on hold. Booking ID: " + id));
+        }
+        if (!booking.getHoldExpiresAt().isAfter(LocalDateTime.now())) {
+            throw failure("hold_expired",
+                new IllegalStateException("Hold has expired. Booking ID: " + id));
+        }
+
+        booking.setStatus(BookingStatus.CONFIRMED);
+        booking.setHoldExpiresAt(null);
+
+        Booking savedBooking = bookingRepository.save(booking);
+        bookingEventOutbox.append(savedBooking, BookingEvent.Type.BOOKING_CONFIRMED);
+        log.info("Confirmed hold with ID: {}", id);
+        return mapToResponse(savedBooking);
+    }
+
+    /**
+     * Releases those of the given holds that are still HELD and past their
+     * expiry: one locking SELECT, one UPDATE of the slots and one DELETE of the
+     * holds, whatever the batch size. Holds confirmed or cancelled meanwhile
+     * are skipped, so stale timer entries are harmless. All holds must be on
+     * one shard.
+     */
+    @Transactional
+    public int releaseExpiredHolds(Collection<Long> bookingIds) {
+        return shardRouter.onShard(shardRouter.commonShardOf(bookingIds), () -> releaseHolds(bookingIds));
+    }
+
+    private int releaseHolds(Collection<Long> bookingIds) {
+        List<Booking> expired = bookingRepository.findExpiredHoldsForUpdate(
+                bookingIds, BookingStatus.HELD, LocalDateTime.now());
+        if (expired.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> ids = expired.stream().map(Booking::getId).collect(Collectors.toList());
+        List<Long> slotIds = expired.stream().map(booking -> booking.getSlot().getId()).collect(Collectors.toList());
+        bookingEventOutbox.appendAll(expired, BookingEvent.Type.HOLD_EXPIRED);
+        slotRepository.releaseSlots(slotIds);
+        bookingRepository.deleteAllByIdInBatch(ids);
+
+        eventPublisher.publishEvent(new SlotAvailabilityChangedEvent(expired.stream()
+                .map(booking -> snapshot(booking.getSlot()))
+                .collect(Collectors.toList()), true));
+        log.info("Released {} expired holds", expired.size());
+        return expired.size();
+    }
+
     @Transactional(readOnly = true)
     public List<BookingResponse> getAllBookings() {
-        return bookingRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-    }
-
-    private BookingResponse mapToResponse(Booking booking) {
-        BookingResponse response = new BookingResponse();
-        response.setId(booking.getId());
-        response.setSlotId(booking.getSlot().getId());
-        response.setCustomerName(booking.getCustomerName());
-        response.setCustomerEmail(booking.getCustomerEmail());
-        response.setCustomerPhone(booking.getCustomerPhone());
-        response.setStatus(booking.getStatus());
-        response.setTotalAmount(booking.getTotalAmount());
-        response.setCreatedAt(booking.getCreatedAt());
-        response.setUpdatedAt(booking.getUpdatedAt());
-        response.setCancelledAt(booking.getCancelledAt());
-        return response;
+        return shardRouter.fanOut(shard -> bookingRepository.findAllResponses(), Comparator.comparing(BookingResponse::id));
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<BookingResponse> getBookingsPage(String cursor, int limit) {
+        PageResponse.validateLimit(limit);
+        Long afterId = PageResponse.decodeCursor(cursor);
+        List<BookingResponse> bookings = shardRouter.fanOut(
+                shard -> bookingRepository.findResponsesAfter(afterId, Limit.of(limit + 1)),
+                Comparator.comparing(BookingResponse::id));
+        boolean hasMore = bookings.size() > limit;
+        List<BookingResponse> items = hasMore ? bookings.subList(0, limit) : bookings;
+        String nextCursor = hasMore ? PageResponse.encodeCursor(items.get(items.size() - 1).id()) : null;
+        return new PageResponse<>(items, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportBookings(OutputStream out) throws IOException {
+        return ndjsonExporter.write(shard -> bookingRepository.streamAllResponses(), out);
+    }
+
+    /** Time spent acquiring the slot row lock, either by SELECT ... FOR UPDATE or by the conditional UPDATE. */
+    private Timer rowLockWait() {
+        return Timer.builder("booking.lock.wait").tag("lock", "row").register(meterRegistry);
+    }
+
+    private <E extends RuntimeException> E failure(String reason, E exception) {
+        Counter.builder("booking.failures").tag("reason", reason).register(meterRegistry).increment();
+        return exception;
+    }
+
+    private void publishAvailabilityChange(Slot slot, boolean available) {
+        eventPublisher.publishEvent(new SlotAvailabilityChangedEvent(List.of(snapshot(slot)), available));
+    }
+
+    /**
+     * The sport code is resolved here, inside the transaction: from the index
+     * when it knows the venue, which it does unless another instance created
+     * it, and otherwise by loading the venue.
+     */
+    private SlotSnapshot snapshot(Slot slot) {
+        Long venueId = slot.getVenue().getId();
+        String sportCode = availabilityIndex.sportCodeOf(venueId);
+        if (sportCode == null) {
+            sportCode = slot.getVenue().getSportCode();
+        }
+        return new SlotSnapshot(slot.getId(), venueId, sportCode, slot.getSlotDate(), slot.getStartTime(),
+                slot.getEndTime());
+    }
+
+    BookingResponse mapToResponse(Booking booking) {
+        return new BookingResponse(booking.getId(), booking.getSlot().getId(), booking.getCustomerName(),
+                booking.getCustomerEmail(), booking.getCustomerPhone(), booking.getStatus(), booking.getTotalAmount(),
+                booking.getCreatedAt(), booking.getUpdatedAt(), booking.getCancelledAt(), booking.getHoldExpiresAt());
     }
 }
 
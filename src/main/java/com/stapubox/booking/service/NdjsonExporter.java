@@ -0,0 +1,80 @@
+package com.stapubox.booking.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.stapubox.booking.shard.ShardRouter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream of response projections as newline-delimited JSON through
+ * a single generator, so no per-row buffer is allocated. Projections never
+ * enter the persistence context, so memory stays flat however many rows
+ * there are. Must be called inside a transaction that keeps the stream open.
+ */
+@Component
+public class NdjsonExporter {
+    private static final int FLUSH_EVERY = 500;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter rowWriter;
+    private final ShardRouter shardRouter;
+
+    public NdjsonExporter(ObjectMapper objectMapper, ShardRouter shardRouter) {
+        this.objectMapper = objectMapper;
+        this.rowWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.shardRouter = shardRouter;
+    }
+
+    /** Writes the rows of every shard, one shard after the other. */
+    public long write(IntFunction<? extends Stream<?>> rows, OutputStream out) throws IOException {
+        long count = 0;
+        for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+            count += write(shard, rows, out);
+        }
+        return count;
+    }
+
+    /** Writes the rows of one shard, streamed in a transaction on that shard. */
+    public long write(int shard, IntFunction<? extends Stream<?>> rows, OutputStream out) throws IOException {
+        try {
+            return shardRouter.read(shard, () -> {
+                try {
+                    return write(rows.apply(shard), out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public long write(Stream<?> rows, OutputStream out) throws IOException {
+        long count = 0;
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        // Rows are separated by the newline written below, not the default space.
+        generator.setRootValueSeparator(null);
+        try (rows; generator) {
+            Iterator<?> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                rowWriter.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+                if (++count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        out.flush();
+        return count;
+    }
+}
@@ -0,0 +1,214 @@
+package com.stapubox.booking.service;
+
+import com.stapubox.booking.config.BookingProperties;
+import com.stapubox.booking.event.SlotAvailabilityChangedEvent;
+import com.stapubox.booking.event.SlotSnapshot;
+import com.stapubox.booking.exception.SlotBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Lets at most one booking attempt per slot reach the database at a time.
+ * Attempts for the same slot queue on a striped in-memory lock, and once a
+ * slot is booked, later attempts are turned away from a sold-out bitmap
+ * without touching the database. The bitmap is refreshed from booking events
+ * and forgets entries after {@code booking.admission.sold-out-ttl}, so
+ * changes made by other nodes are picked up; the database stays the authority.
+ */
+@Component
+@Slf4j
+public class SlotAdmissionGate {
+    private final BookingProperties.Admission properties;
+    private final ReentrantLock[] stripes;
+    private volatile SoldOutBitmap current = new SoldOutBitmap();
+    private volatile SoldOutBitmap previous = new SoldOutBitmap();
+
+    private final Counter admitted;
+    private final Counter rejectedSoldOut;
+    private final Counter rejectedTimeout;
+    private final Counter failedSoldOut;
+    private final Counter failedBusy;
+    private final Timer lockWait;
+
+    public SlotAdmissionGate(BookingProperties bookingProperties, MeterRegistry meterRegistry) {
+        this.properties = bookingProperties.getAdmission();
+        this.stripes = new ReentrantLock[Math.max(1, properties.getStripes())];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock(true);
+        }
+        this.admitted = Counter.builder("booking.admission").tag("outcome", "admitted").register(meterRegistry);
+        this.rejectedSoldOut = Counter.builder("booking.admission").tag("outcome", "sold_out").register(meterRegistry);
+        this.rejectedTimeout = Counter.builder("booking.admission").tag("outcome", "timeout").register(meterRegistry);
+        this.failedSoldOut = Counter.builder("booking.failures").tag("reason", "sold_out").register(meterRegistry);
+        this.failedBusy = Counter.builder("booking.failures").tag("reason", "busy").register(meterRegistry);
+        this.lockWait = Timer.builder("booking.lock.wait").tag("lock", "admission").register(meterRegistry);
+        Gauge.builder("booking.admission.waiting", this, SlotAdmissionGate::waitingThreads).register(meterRegistry);
+    }
+
+    public <T> T admit(Long slotId, Supplier<T> attempt) {
+        if (!properties.isEnabled()) {
+            return attempt.get();
+        }
+
+        rejectIfSoldOut(slotId);
+
+        ReentrantLock lock = stripes[stripeOf(slotId)];
+        long waitStarted = System.nanoTime();
+        try {
+            boolean acquired = lock.tryLock(properties.getMaxWait().toMillis(), TimeUnit.MILLISECONDS);
+            lockWait.record(System.nanoTime() - waitStarted, TimeUnit.NANOSECONDS);
+            if (!acquired) {
+                rejectedTimeout.increment();
+                failedBusy.increment();
+                throw new SlotBusyException("Slot is busy, please retry. Slot ID: " + slotId);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SlotBusyException("Interrupted while waiting for slot. Slot ID: " + slotId);
+        }
+
+        try {
+            rejectIfSoldOut(slotId);
+            admitted.increment();
+            return attempt.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Admits an attempt that books several slots at once. The stripes of all
+     * slots are taken in ascending stripe order, so overlapping multi-slot
+     * attempts cannot deadlock, and within one shared wait budget.
+     */
+    public <T> T admitAll(List<Long> slotIds, Supplier<T> attempt) {
+        if (!properties.isEnabled()) {
+            return attempt.get();
+        }
+
+        slotIds.forEach(this::rejectIfSoldOut);
+
+        int[] order = slotIds.stream().mapToInt(this::stripeOf).distinct().sorted().toArray();
+        long waitStarted = System.nanoTime();
+        long deadline = waitStarted + properties.getMaxWait().toNanos();
+        int locked = 0;
+        try {
+            for (int stripe : order) {
+                if (!stripes[stripe].tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    lockWait.record(System.nanoTime() - waitStarted, TimeUnit.NANOSECONDS);
+                    rejectedTimeout.increment();
+                    failedBusy.increment();
+                    throw new SlotBusyException("Slots are busy, please retry. Slot IDs: " + slotIds);
+                }
+                locked++;
+            }
+            lockWait.record(System.nanoTime() - waitStarted, TimeUnit.NANOSECONDS);
+
+            slotIds.forEach(this::rejectIfSoldOut);
+            admitted.increment();
+            return attempt.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SlotBusyException("Interrupted while waiting for slots. Slot IDs: " + slotIds);
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                stripes[order[i]].unlock();
+            }
+        }
+    }
+
+    /** Threads currently queued on any stripe, an estimate as the stripes are read one by one. */
+    public int waitingThreads() {
+        int waiting = 0;
+        for (ReentrantLock stripe : stripes) {
+            waiting += stripe.getQueueLength();
+        }
+        return waiting;
+    }
+
+    public boolean isSoldOut(Long slotId) {
+        return current.contains(slotId) || previous.contains(slotId);
+    }
+
+    @TransactionalEventListener
+    public void onSlotAvailabilityChanged(SlotAvailabilityChangedEvent event) {
+        for (SlotSnapshot slot : event.slots()) {
+            if (event.available()) {
+                current.clear(slot.slotId());
+                previous.clear(slot.slotId());
+            } else {
+                current.set(slot.slotId());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${booking.admission.sold-out-ttl:PT30S}")
+    public void expireSoldOut() {
+        previous = current;
+        current = new SoldOutBitmap();
+    }
+
+    private int stripeOf(Long slotId) {
+        return Math.floorMod(Long.hashCode(slotId * 0x9E3779B97F4A7C15L), stripes.length);
+    }
+
+    private void rejectIfSoldOut(Long slotId) {
+        if (isSoldOut(slotId)) {
+            rejectedSoldOut.increment();
+            failedSoldOut.increment();
+            throw new IllegalStateException("Slot is already booked. Slot ID: " + slotId);
+        }
+    }
+
+    /**
+     * Sparse bitmap over slot ids, split into 4096-bit chunks so memory
+     * follows the range of ids actually set.
+     */
+    static final class SoldOutBitmap {
+        private static final int CHUNK_BITS = 12;
+        private static final int WORDS_PER_CHUNK = (1 << CHUNK_BITS) / Long.SIZE;
+
+        private final Map<Long, AtomicLongArray> chunks = new ConcurrentHashMap<>();
+
+        boolean contains(long id) {
+            AtomicLongArray chunk = chunks.get(id >>> CHUNK_BITS);
+            return chunk != null && (chunk.get(word(id)) & mask(id)) != 0;
+        }
+
+        void set(long id) {
+            AtomicLongArray chunk = chunks.computeIfAbsent(id >>> CHUNK_BITS, key -> new AtomicLongArray(WORDS_PER_CHUNK));
+            long mask = mask(id);
+            chunk.getAndAccumulate(word(id), mask, (value, bit) -> value | bit);
+        }
+
+        void clear(long id) {
+            AtomicLongArray chunk = chunks.get(id >>> CHUNK_BITS);
+            if (chunk != null) {
+                long mask = mask(id);
+                chunk.getAndAccumulate(word(id), mask, (value, bit) -> value & ~bit);
+            }
+        }
+
+        private static int word(long id) {
+            return (int) (id & ((1 << CHUNK_BITS) - 1)) >>> 6;
+        }
+
+        private static long mask(long id) {
+            return 1L << (id & 63);
+        }
+    }
+}
@@ -1,45 +1,91 @@
 package com.stapubox.booking.service;
 
+import com.stapubox.booking.dto.BulkSlotRequest;
+import com.stapubox.booking.dto.BulkSlotResponse;
+import com.stapubox.booking.dto.PageResponse;
 import com.stapubox.booking.dto.SlotRequest;
 import com.stapubox.booking.dto.SlotResponse;
+import com.stapubox.booking.event.SlotSnapshot;
+import com.stapubox.booking.event.SlotsCreatedEvent;
+import com.stapubox.booking.exception.VenueNotFoundException;
+import com.stapubox.booking.index.DaySchedule;
+import com.stapubox.booking.index.SlotIntervalIndex;
 import com.stapubox.booking.model.Slot;
 import com.stapubox.booking.model.Venue;
+import com.stapubox.booking.repository.SlotArchiveRepository;
 import com.stapubox.booking.repository.SlotRepository;
 import com.stapubox.booking.repository.VenueRepository;
+import com.stapubox.booking.shard.ShardRouter;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
+@Timed("slot.service")
 @RequiredArgsConstructor
 @Slf4j
 public class SlotService {
+    private static final int MAX_BULK_SLOTS = 50_000;
+    private static final int MAX_BULK_DAYS = 366;
+
     private final SlotRepository slotRepository;
     private final VenueRepository venueRepository;
+    private final SlotIntervalIndex slotIntervalIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NdjsonExporter ndjsonExporter;
+    private final ShardRouter shardRouter;
+    private final SlotArchiveRepository slotArchiveRepository;
 
     @Transactional
     public SlotResponse createSlot(Long venueId, SlotRequest request) {
-        Venue venue = venueRepository.findById(venueId)
-                .orElseThrow(() -> new IllegalArgumentException("Venue not found with ID: " + venueId));
+        return shardRouter.onShardOf(venueId, () -> insertSlot(venueId, request));
+    }
 
+    /**
+     * The venue row is locked first, so slot creation for one venue is
+     * serialized across instances. A conflict the interval index already knows
+     * about is rejected without a query; otherwise the database decides, since
+     * the index lags behind slots committed elsewhere.
+     */
+    private SlotResponse insertSlot(Long venueId, SlotRequest request) {
         if (request.getStartTime().isAfter(request.getEndTime()) || 
             request.getStartTime().equals(request.getEndTime())) {
             throw new IllegalArgumentException("Start time must be before end time");
         }
 
-        List<Slot> overlappingSlots = slotRepository.findOverlappingSlots(
-                venueId, request.getSlotDate(), request.getStartTime(), request.getEndTime());
+        Venue venue = venueRepository.findActiveByIdForUpdate(venueId)
+                .orElseThrow(() -> new VenueNotFoundException(venueId));
 
-        if (!overlappingSlots.isEmpty()) {
-            throw new IllegalArgumentException(
-                    "Slot overlaps with existing slot(s). Overlapping slots: " + 
-                    overlappingSlots.stream()
-                            .map(s -> s.getId().toString())
-                            .collect(Collectors.joining(", ")));
+        if (slotIntervalIndex.covers(request.getSlotDate())) {
+            List<Long> overlappingIds = slotIntervalIndex.findOverlapping(
+                    venueId, request.getSlotDate(), request.getStartTime(), request.getEndTime());
+            if (!overlappingIds.isEmpty()) {
+                throw overlapException(overlappingIds);
+            }
+        }
+        if (slotRepository.existsOverlappingSlot(
+                venueId, request.getSlotDate(), request.getStartTime(), request.getEndTime())) {
+            List<Slot> overlappingSlots = slotRepository.findOverlappingSlots(
+                    venueId, request.getSlotDate(), request.getStartTime(), request.getEndTime());
+            throw overlapException(overlappingSlots.stream().map(Slot::getId).collect(Collectors.toList()));
         }
 
         Slot slot = new Slot();
@@ -51,30 +97,182 @@ public class SlotService {
         slot.setIsAvailable(true);
 
         Slot savedSlot = slotRepository.save(slot);
+        eventPublisher.publishEvent(new SlotsCreatedEvent(venueId, List.of(new SlotSnapshot(
+                savedSlot.getId(), venueId, venue.getSportCode(), savedSlot.getSlotDate(), savedSlot.getStartTime(), savedSlot.getEndTime()))));
         log.info("Created slot with ID: {} for venue ID: {}", savedSlot.getId(), venueId);
         return mapToResponse(savedSlot);
     }
 
+    /**
+     * Expands a daily recurrence into slots and inserts them in one transaction.
+     * Conflicts are checked in memory, both among the new slots and against the
+     * venue's existing slots in the date range, which are read with one query
+     * after locking the venue row, as {@link #createSlot} does.
+     */
+    @Transactional
+    public BulkSlotResponse createSlots(Long venueId, BulkSlotRequest request) {
+        return shardRouter.onShardOf(venueId, () -> insertSlots(venueId, request));
+    }
+
+    private BulkSlotResponse insertSlots(Long venueId, BulkSlotRequest request) {
+        if (request.getStartDate().isAfter(request.getEndDate())) {
+            throw new IllegalArgumentException("Start date must not be after end date");
+        }
+        if (ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate()) >= MAX_BULK_DAYS) {
+            throw new IllegalArgumentException("Date range cannot exceed " + MAX_BULK_DAYS + " days");
+        }
+        if (!request.getStartTime().isBefore(request.getEndTime())) {
+            throw new IllegalArgumentException("Start time must be before end time");
+        }
+
+        int duration = request.getDurationMinutes();
+        int interval = request.getIntervalMinutes() != null ? request.getIntervalMinutes() : duration;
+        if (interval < duration) {
+            throw new IllegalArgumentException("Interval must not be shorter than the slot duration, " +
+                    "otherwise generated slots would overlap each other");
+        }
+
+        List<Slot> slots = expand(request, duration, interval);
+        if (slots.isEmpty()) {
+            throw new IllegalArgumentException("Recurrence rule does not produce any slots");
+        }
+
+        Venue venue = venueRepository.findActiveByIdForUpdate(venueId)
+                .orElseThrow(() -> new VenueNotFoundException(venueId));
+
+        Map<LocalDate, DaySchedule> existing = new HashMap<>();
+        for (SlotSnapshot snapshot : slotRepository.findSnapshotsByVenueAndDateRange(
+                venueId, request.getStartDate(), request.getEndDate())) {
+            existing.computeIfAbsent(snapshot.slotDate(), date -> new DaySchedule())
+                    .add(snapshot.slotId(), snapshot.startTime().toSecondOfDay(), snapshot.endTime().toSecondOfDay());
+        }
+        for (Slot slot : slots) {
+            DaySchedule schedule = existing.get(slot.getSlotDate());
+            if (schedule == null) {
+                continue;
+            }
+            List<Long> overlappingIds = schedule.findOverlapping(
+                    slot.getStartTime().toSecondOfDay(), slot.getEndTime().toSecondOfDay());
+            if (!overlappingIds.isEmpty()) {
+                throw new IllegalArgumentException("Generated slot on " + slot.getSlotDate() + " " +
+                        slot.getStartTime() + "-" + slot.getEndTime() + " overlaps with existing slot(s): " +
+                        overlappingIds.stream().map(String::valueOf).collect(Collectors.joining(", ")));
+            }
+        }
+
+        long started = System.nanoTime();
+        slotRepository.insertAll(venueId, slots);
+        long elapsedNanos = Math.max(System.nanoTime() - started, 1);
+
+        eventPublisher.publishEvent(new SlotsCreatedEvent(venueId, slots.stream()
+                .map(slot -> new SlotSnapshot(slot.getId(), venueId, venue.getSportCode(), slot.getSlotDate(),
+                        slot.getStartTime(), slot.getEndTime()))
+                .collect(Collectors.toList())));
+
+        long rowsPerSecond = slots.size() * 1_000_000_000L / elapsedNanos;
+        log.info("Bulk created {} slots for venue ID: {} in {} ms ({} rows/s)",
+                slots.size(), venueId, elapsedNanos / 1_000_000, rowsPerSecond);
+        return new BulkSlotResponse(venueId, slots.size(), slots.get(0).getSlotDate(),
+                slots.get(slots.size() - 1).getSlotDate(), elapsedNanos / 1_000_000, rowsPerSecond);
+    }
+
+    /**
+     * Slot listings filter out deleted venues in the query itself; whether
+     * the venue exists is only asked when that comes back empty, so a listing
+     * is still one statement.
+     */
     @Transactional(readOnly = true)
     public List<SlotResponse> getSlotsByVenue(Long venueId) {
-        return slotRepository.findByVenueId(venueId).stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return shardRouter.onShardOf(venueId, () -> {
+            List<SlotResponse> slots = slotRepository.findResponsesByVenueId(venueId);
+            if (slots.isEmpty()) {
+                requireActiveVenue(venueId);
+            }
+            return slots;
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<SlotResponse> getSlotsPage(Long venueId, String cursor, int limit) {
+        PageResponse.validateLimit(limit);
+        Long afterId = PageResponse.decodeCursor(cursor);
+        return shardRouter.onShardOf(venueId, () -> {
+            List<SlotResponse> slots = slotRepository.findResponsesByVenueIdAfter(venueId, afterId, Limit.of(limit + 1));
+            if (slots.isEmpty()) {
+                requireActiveVenue(venueId);
+            }
+            boolean hasMore = slots.size() > limit;
+            List<SlotResponse> items = hasMore ? slots.subList(0, limit) : slots;
+            String nextCursor = hasMore ? PageResponse.encodeCursor(items.get(items.size() - 1).id()) : null;
+            return new PageResponse<>(items, nextCursor);
+        });
+    }
+
+    /** Fails with 404 for a missing or deleted venue; called before an export starts streaming its 200. */
+    @Transactional(readOnly = true)
+    public void requireActiveVenue(Long venueId) {
+        if (!shardRouter.onShardOf(venueId, () -> venueRepository.existsActiveById(venueId))) {
+            throw new VenueNotFoundException(venueId);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportSlots(Long venueId, OutputStream out) throws IOException {
+        return ndjsonExporter.write(shardRouter.shardOf(venueId), shard -> slotRepository.streamResponsesByVenueId(venueId),
+                out);
+    }
+
+    /** Slots of the venue moved to the archive, dated from {@code from} to {@code to} inclusive. */
+    public List<SlotResponse> getArchivedSlots(Long venueId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("From date must not be after to date");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_BULK_DAYS) {
+            throw new IllegalArgumentException("Date range cannot exceed " + MAX_BULK_DAYS + " days");
+        }
+        return shardRouter.onShardOf(venueId, () -> slotArchiveRepository.findSlots(venueId, from, to));
+    }
+
+    private List<Slot> expand(BulkSlotRequest request, int duration, int interval) {
+        Set<DayOfWeek> days = request.getDaysOfWeek() == null || request.getDaysOfWeek().isEmpty()
+                ? EnumSet.allOf(DayOfWeek.class)
+                : EnumSet.copyOf(request.getDaysOfWeek());
+        int dayStart = request.getStartTime().toSecondOfDay();
+        int dayEnd = request.getEndTime().toSecondOfDay();
+
+        List<Slot> slots = new ArrayList<>();
+        for (LocalDate date = request.getStartDate(); !date.isAfter(request.getEndDate()); date = date.plusDays(1)) {
+            if (!days.contains(date.getDayOfWeek())) {
+                continue;
+            }
+            for (int start = dayStart; start + duration * 60 <= dayEnd; start += interval * 60) {
+                if (slots.size() == MAX_BULK_SLOTS) {
+                    throw new IllegalArgumentException("Recurrence rule produces more than " + MAX_BULK_SLOTS + " slots");
+                }
+                Slot slot = new Slot();
+                slot.setSlotDate(date);
+                slot.setStartTime(LocalTime.ofSecondOfDay(start));
+                slot.setEndTime(LocalTime.ofSecondOfDay(start + duration * 60));
+                slot.setPrice(request.getPrice());
+                slot.setIsAvailable(true);
+                slots.add(slot);
+            }
+        }
+        return slots;
+    }
+
+    private IllegalArgumentException overlapException(List<Long> overlappingIds) {
+        return new IllegalArgumentException(
+                "Slot overlaps with existing slot(s). Overlapping slots: " +
+                overlappingIds.stream()
+                        .map(String::valueOf)
+                        .collect(Collectors.joining(", ")));
     }
 
-    private SlotResponse mapToResponse(Slot slot) {
-        SlotResponse response = new SlotResponse();
-        response.setId(slot.getId());
-        response.setVenueId(slot.getVenue().getId());
-        response.setVenueName(slot.getVenue().getName());
-        response.setSlotDate(slot.getSlotDate());
-        response.setStartTime(slot.getStartTime());
-        response.setEndTime(slot.getEndTime());
-        response.setIsAvailable(slot.getIsAvailable());
-        response.setPrice(slot.getPrice());
-        response.setCreatedAt(slot.getCreatedAt());
-        response.setUpdatedAt(slot.getUpdatedAt());
-        return response;
+    SlotResponse mapToResponse(Slot slot) {
+        return new SlotResponse(slot.getId(), slot.getVenue().getId(), slot.getVenue().getName(), slot.getSlotDate(),
+                slot.getStartTime(), slot.getEndTime(), slot.getIsAvailable(), slot.getPrice(), slot.getCreatedAt(),
+                slot.getUpdatedAt());
     }
 }
 
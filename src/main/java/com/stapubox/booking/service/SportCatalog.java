@@ -0,0 +1,93 @@
+package com.stapubox.booking.service;
+
+import com.stapubox.booking.service.SportService.SportInfo;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of the sport list, indexed by code and by upstream id.
+ * Lookups are case-insensitive. A new snapshot is built on every refresh and
+ * swapped in atomically by {@link SportService}, so readers never lock.
+ */
+public final class SportCatalog {
+
+    public enum Source {
+        EMPTY, UPSTREAM, DATABASE
+    }
+
+    static final SportCatalog EMPTY = new SportCatalog(List.of(), Source.EMPTY, Instant.EPOCH);
+
+    private final List<SportInfo> sports;
+    private final Map<String, SportInfo> byCode;
+    private final Map<String, SportInfo> byId;
+    private final Source source;
+    private final Instant loadedAt;
+
+    SportCatalog(List<SportInfo> sports, Source source, Instant loadedAt) {
+        Map<String, SportInfo> codes = new HashMap<>(sports.size() * 2);
+        Map<String, SportInfo> ids = new HashMap<>(sports.size() * 2);
+        for (SportInfo sport : sports) {
+            if (sport.getCode() != null && !sport.getCode().isBlank()) {
+                codes.putIfAbsent(normalize(sport.getCode()), sport);
+            }
+            if (sport.getId() != null && !sport.getId().isBlank()) {
+                ids.putIfAbsent(normalize(sport.getId()), sport);
+            }
+        }
+        this.sports = List.copyOf(sports);
+        this.byCode = Collections.unmodifiableMap(codes);
+        this.byId = Collections.unmodifiableMap(ids);
+        this.source = source;
+        this.loadedAt = loadedAt;
+    }
+
+    public boolean contains(String codeOrId) {
+        if (codeOrId == null || codeOrId.isBlank()) {
+            return false;
+        }
+        String key = normalize(codeOrId);
+        return byCode.containsKey(key) || byId.containsKey(key);
+    }
+
+    public SportInfo findByCode(String code) {
+        return code == null ? null : byCode.get(normalize(code));
+    }
+
+    public SportInfo findById(String id) {
+        return id == null ? null : byId.get(normalize(id));
+    }
+
+    public List<SportInfo> getSports() {
+        return sports;
+    }
+
+    public int size() {
+        return sports.size();
+    }
+
+    public boolean isEmpty() {
+        return sports.isEmpty();
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public boolean isStale(Duration maxAge, Instant now) {
+        return source != Source.UPSTREAM || loadedAt.plus(maxAge).isBefore(now);
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -2,35 +2,100 @@ package com.stapubox.booking.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stapubox.booking.config.CacheConfig;
+import com.stapubox.booking.dto.SportSummary;
+import com.stapubox.booking.model.Sport;
+import com.stapubox.booking.repository.SportRepository;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
+@Timed("sport.service")
 @Slf4j
 public class SportService {
-    private static final String SPORTS_API_URL = "https://stapubox.com/sportslist/";
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final SportRepository sportRepository;
+    private final String sportsApiUrl;
+    private final Duration staleAfter;
+    private final Duration retryAfter;
 
-    public SportService() {
-        this.restTemplate = new RestTemplate();
+    private final AtomicReference<SportCatalog> catalog = new AtomicReference<>(SportCatalog.EMPTY);
+    /** The refresh currently running, if any; every caller shares it rather than starting another. */
+    private final AtomicReference<CompletableFuture<SportCatalog>> inFlight = new AtomicReference<>();
+    private volatile Instant lastRefreshAttempt = Instant.EPOCH;
+    private final ExecutorService refreshExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "sport-catalog-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Counter catalogHits;
+    private final Counter catalogMisses;
+    private final Timer apiSuccess;
+    private final Timer apiError;
+    private final MeterRegistry meterRegistry;
+
+    public SportService(SportRepository sportRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${sports.api.url:https://stapubox.com/sportslist/}") String sportsApiUrl,
+                        @Value("${sports.api.timeout:5s}") Duration apiTimeout,
+                        @Value("${sports.catalog.stale-after:10m}") Duration staleAfter,
+                        @Value("${sports.catalog.retry-after:30s}") Duration retryAfter) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout((int) apiTimeout.toMillis());
+        requestFactory.setReadTimeout((int) apiTimeout.toMillis());
+        this.restTemplate = new RestTemplate(requestFactory);
         this.objectMapper = new ObjectMapper();
+        this.sportRepository = sportRepository;
+        this.sportsApiUrl = sportsApiUrl;
+        this.staleAfter = staleAfter;
+        this.retryAfter = retryAfter;
+        this.meterRegistry = meterRegistry;
+        this.catalogHits = Counter.builder("sports.catalog.lookups").tag("result", "hit").register(meterRegistry);
+        this.catalogMisses = Counter.builder("sports.catalog.lookups").tag("result", "miss").register(meterRegistry);
+        this.apiSuccess = Timer.builder("sports.api.requests").tag("outcome", "success").register(meterRegistry);
+        this.apiError = Timer.builder("sports.api.requests").tag("outcome", "error").register(meterRegistry);
+        Gauge.builder("sports.catalog.size", catalog, ref -> ref.get().size()).register(meterRegistry);
+        Gauge.builder("sports.catalog.age.seconds", catalog,
+                ref -> Duration.between(ref.get().getLoadedAt(), Instant.now()).toSeconds())
+                .register(meterRegistry);
     }
 
     public List<SportInfo> getAllSports() {
+        long started = System.nanoTime();
+        boolean responded = false;
         try {
-            String response = restTemplate.getForObject(SPORTS_API_URL, String.class);
+            String response = restTemplate.getForObject(sportsApiUrl, String.class);
+            apiSuccess.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            responded = true;
             JsonNode jsonNode = objectMapper.readTree(response);
-            
+
             List<SportInfo> sports = new ArrayList<>();
 
             JsonNode dataNode = jsonNode.has("data") ? jsonNode.get("data") : jsonNode;
-            
+
             if (dataNode.isArray()) {
                 for (JsonNode sport : dataNode) {
                     SportInfo sportInfo = new SportInfo();
@@ -52,14 +117,17 @@ public class SportService {
                     } else if (sport.has("name")) {
                         sportInfo.setName(sport.get("name").asText());
                     }
-                    
+
                     sports.add(sportInfo);
                 }
             }
-            
+
             log.info("Fetched {} sports from external API", sports.size());
             return sports;
         } catch (Exception e) {
+            if (!responded) {
+                apiError.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
             log.error("Error fetching sports from API: {}", e.getMessage());
             return new ArrayList<>();
         }
@@ -69,21 +137,153 @@ public class SportService {
         if (sportCode == null || sportCode.trim().isEmpty()) {
             return false;
         }
-        
-        List<SportInfo> sports = getAllSports();
 
-        if (sports.isEmpty()) {
-            log.warn("Sports API returned empty list. Cannot validate sport code: {}", sportCode);
+        SportCatalog current = getCatalog();
+
+        if (current.isEmpty()) {
+            log.warn("Sport catalog is empty. Cannot validate sport code: {}", sportCode);
+            catalogMisses.increment();
             return false;
         }
-        
-        return sports.stream()
-                .anyMatch(sport -> {
-                    String code = sport.getCode();
-                    String id = sport.getId();
-                    return (code != null && sportCode.equalsIgnoreCase(code)) || 
-                           (id != null && sportCode.equalsIgnoreCase(id));
+
+        boolean found = current.contains(sportCode);
+        (found ? catalogHits : catalogMisses).increment();
+        return found;
+    }
+
+    @Cacheable(cacheNames = CacheConfig.SPORTS, unless = "#result == null")
+    public Optional<SportSummary> findSportByCode(String code) {
+        return sportRepository.findSummaryByCode(code);
+    }
+
+    /**
+     * Returns the current catalog without ever waiting on the upstream API,
+     * which callers inside a transaction would do holding a connection. A
+     * stale catalog is served as-is while a background refresh is kicked off;
+     * while nothing has been loaded yet, the sports table answers instead.
+     */
+    public SportCatalog getCatalog() {
+        SportCatalog current = catalog.get();
+        Instant now = Instant.now();
+        boolean retryDue = lastRefreshAttempt.plus(retryAfter).isBefore(now);
+        if (current.getSource() == SportCatalog.Source.EMPTY) {
+            if (retryDue) {
+                refresh();
+            }
+            return loadFallbackCatalog(current);
+        }
+        if (current.isStale(staleAfter, now) && retryDue) {
+            refresh();
+        }
+        return current;
+    }
+
+    @Scheduled(fixedDelayString = "${sports.catalog.refresh-interval:PT5M}",
+               initialDelayString = "${sports.catalog.refresh-interval:PT5M}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    /**
+     * Reloads the catalog from the upstream API, falling back to the sports
+     * table when the API is down or returns nothing, and waits for the result.
+     * A refresh already running is joined rather than repeated. A previously
+     * loaded catalog is kept if both sources come back empty.
+     */
+    public SportCatalog refreshCatalog() {
+        return refresh().join();
+    }
+
+    /** Starts a refresh on the refresh thread unless one is already running, and returns it. */
+    private CompletableFuture<SportCatalog> refresh() {
+        while (true) {
+            CompletableFuture<SportCatalog> running = inFlight.get();
+            if (running != null) {
+                return running;
+            }
+            CompletableFuture<SportCatalog> started = new CompletableFuture<>();
+            if (!inFlight.compareAndSet(null, started)) {
+                continue;
+            }
+            lastRefreshAttempt = Instant.now();
+            try {
+                refreshExecutor.execute(() -> {
+                    try {
+                        started.complete(load());
+                    } catch (Exception e) {
+                        log.error("Sport catalog refresh failed: {}", e.getMessage());
+                        started.complete(catalog.get());
+                    } finally {
+                        inFlight.compareAndSet(started, null);
+                    }
                 });
+            } catch (RuntimeException e) {
+                inFlight.compareAndSet(started, null);
+                started.completeExceptionally(e);
+            }
+            return started;
+        }
+    }
+
+    private SportCatalog load() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        SportCatalog.Source source = SportCatalog.Source.UPSTREAM;
+
+        List<SportInfo> sports = getAllSports();
+        if (sports.isEmpty()) {
+            source = SportCatalog.Source.DATABASE;
+            sports = loadSportsFromDatabase();
+        }
+
+        SportCatalog current = catalog.get();
+        if (sports.isEmpty()) {
+            sample.stop(refreshTimer("failed"));
+            log.warn("Sport catalog refresh returned no sports; keeping {} cached entries", current.size());
+            return current;
+        }
+
+        SportCatalog refreshed = new SportCatalog(sports, source, Instant.now());
+        catalog.set(refreshed);
+        sample.stop(refreshTimer(source.name().toLowerCase()));
+        log.info("Sport catalog refreshed from {} with {} sports", source, refreshed.size());
+        return refreshed;
+    }
+
+    /**
+     * The catalog as the sports table has it, kept unless a refresh has
+     * replaced {@code empty} in the meantime.
+     */
+    private SportCatalog loadFallbackCatalog(SportCatalog empty) {
+        List<SportInfo> sports = loadSportsFromDatabase();
+        if (sports.isEmpty()) {
+            return empty;
+        }
+        SportCatalog fallback = new SportCatalog(sports, SportCatalog.Source.DATABASE, Instant.now());
+        return catalog.compareAndSet(empty, fallback) ? fallback : catalog.get();
+    }
+
+    private List<SportInfo> loadSportsFromDatabase() {
+        try {
+            List<SportInfo> sports = new ArrayList<>();
+            for (Sport sport : sportRepository.findAll()) {
+                SportInfo sportInfo = new SportInfo();
+                sportInfo.setId(sport.getExternalId());
+                sportInfo.setCode(sport.getCode());
+                sportInfo.setName(sport.getName());
+                sports.add(sportInfo);
+            }
+            log.info("Loaded {} sports from database fallback", sports.size());
+            return sports;
+        } catch (Exception e) {
+            log.error("Error loading sports from database: {}", e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    private Timer refreshTimer(String outcome) {
+        return Timer.builder("sports.catalog.refresh")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     public static class SportInfo {
@@ -116,4 +316,3 @@ public class SportService {
         }
     }
 }
-
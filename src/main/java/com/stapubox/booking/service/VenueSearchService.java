@@ -0,0 +1,75 @@
+package com.stapubox.booking.service;
+
+import com.stapubox.booking.dto.VenueResponse;
+import com.stapubox.booking.dto.VenueSearchRequest;
+import com.stapubox.booking.index.AvailabilityIndex;
+import com.stapubox.booking.index.VenueTextIndex;
+import com.stapubox.booking.repository.VenueRepository;
+import com.stapubox.booking.shard.ShardRouter;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+@Service
+@Timed("venue.search")
+@RequiredArgsConstructor
+@Slf4j
+public class VenueSearchService {
+    public static final int MAX_SUGGESTIONS = 50;
+
+    private final VenueTextIndex venueTextIndex;
+    private final AvailabilityIndex availabilityIndex;
+    private final VenueRepository venueRepository;
+    private final ShardRouter shardRouter;
+
+    /**
+     * Venues whose name, location or description has a word starting with
+     * each word of the query, so partial input already matches. Optionally
+     * narrowed to a sport and to venues available for a time range, which is
+     * checked against the availability index for the matches only.
+     */
+    @Transactional(readOnly = true)
+    public List<VenueResponse> search(VenueSearchRequest request) {
+        return venueTextIndex.search(request.getQ(), request.getSportCode(), request.getLimit(),
+                availabilityFilter(request));
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+        return venueTextIndex.suggest(prefix, limit);
+    }
+
+    private Predicate<VenueResponse> availabilityFilter(VenueSearchRequest request) {
+        if (request.getDate() == null && request.getStartTime() == null && request.getEndTime() == null) {
+            return venue -> true;
+        }
+        if (request.getDate() == null || request.getStartTime() == null || request.getEndTime() == null) {
+            throw new IllegalArgumentException("date, startTime and endTime must be given together");
+        }
+        if (request.getSportCode() == null) {
+            throw new IllegalArgumentException("Sport code is required to filter by availability");
+        }
+        if (!request.getStartTime().isBefore(request.getEndTime())) {
+            throw new IllegalArgumentException("Start time must be before end time");
+        }
+
+        if (availabilityIndex.canAnswer(request.getDate(), request.getStartTime(), request.getEndTime())) {
+            return venue -> availabilityIndex.canServe(request.getSportCode(), request.getDate(), venue.id(),
+                    request.getStartTime(), request.getEndTime());
+        }
+        Set<Long> available = new HashSet<>();
+        shardRouter.fanOut(shard -> venueRepository.findAvailableVenuesBySportAndTimeRange(
+                request.getSportCode(), request.getDate(), request.getStartTime(), request.getEndTime()))
+                .forEach(venue -> available.add(venue.id()));
+        return venue -> available.contains(venue.id());
+    }
+}
@@ -1,18 +1,37 @@
 package com.stapubox.booking.service;
 
+import com.stapubox.booking.config.CacheConfig;
+import com.stapubox.booking.deletion.VenueDeletionJob;
+import com.stapubox.booking.dto.PageResponse;
+import com.stapubox.booking.dto.SportSummary;
+import com.stapubox.booking.dto.VenueDeletionResponse;
 import com.stapubox.booking.dto.VenueRequest;
 import com.stapubox.booking.dto.VenueResponse;
-import com.stapubox.booking.model.Sport;
+import com.stapubox.booking.event.VenueCreatedEvent;
+import com.stapubox.booking.event.VenueDeletedEvent;
+import com.stapubox.booking.event.VenueSnapshot;
+import com.stapubox.booking.exception.VenueNotFoundException;
 import com.stapubox.booking.model.Venue;
 import com.stapubox.booking.repository.SportRepository;
 import com.stapubox.booking.repository.VenueRepository;
+import com.stapubox.booking.shard.ShardRouter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
@@ -21,70 +40,132 @@ public class VenueService {
     private final VenueRepository venueRepository;
     private final SportRepository sportRepository;
     private final SportService sportService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NdjsonExporter ndjsonExporter;
+    private final CacheManager cacheManager;
+    private final ShardRouter shardRouter;
+    private final VenueDeletionJob venueDeletionJob;
 
     @Transactional
     public VenueResponse createVenue(VenueRequest request) {
-    
+        return shardRouter.onShard(shardRouter.placeVenue(request.getName(), request.getLocation()),
+                () -> insertVenue(request));
+    }
+
+    private VenueResponse insertVenue(VenueRequest request) {
+        if ((request.getLatitude() == null) != (request.getLongitude() == null)) {
+            throw new IllegalArgumentException("Latitude and longitude must be given together");
+        }
         if (!sportService.isValidSportCode(request.getSportCode())) {
             throw new IllegalArgumentException("Invalid sport code: " + request.getSportCode());
         }
 
-        Sport sport = sportRepository.findByCode(request.getSportCode())
+        SportSummary sport = sportService.findSportByCode(request.getSportCode())
                 .orElseThrow(() -> new IllegalArgumentException(
                         "Sport not found in database. Please ensure sports are seeded. Code: " + request.getSportCode()));
 
         Venue venue = new Venue();
         venue.setName(request.getName());
         venue.setLocation(request.getLocation());
-        venue.setSportCode(sport.getCode());
-        venue.setSport(sport);
+        venue.setSportCode(sport.code());
+        // Every shard seeds its own sports table, so a sport's ID is only meaningful on that shard.
+        venue.setSport(shardRouter.isSharded()
+                ? sportRepository.findByCode(sport.code()).orElseThrow(() -> new IllegalStateException(
+                        "Sport is not seeded on this venue's shard. Code: " + sport.code()))
+                : sportRepository.getReferenceById(sport.id()));
         venue.setDescription(request.getDescription());
         venue.setCapacity(request.getCapacity());
+        venue.setLatitude(request.getLatitude());
+        venue.setLongitude(request.getLongitude());
 
         Venue savedVenue = venueRepository.save(venue);
-        log.info("Created venue with ID: {} for sport: {}", savedVenue.getId(), sport.getCode());
-        return mapToResponse(savedVenue);
+        evictVenuesBySport(savedVenue.getSportCode());
+        VenueResponse response = mapToResponse(savedVenue);
+        eventPublisher.publishEvent(new VenueCreatedEvent(new VenueSnapshot(savedVenue.getId(), savedVenue.getSportCode(),
+                savedVenue.getLatitude(), savedVenue.getLongitude()), response));
+        log.info("Created venue with ID: {} for sport: {}", savedVenue.getId(), sport.code());
+        return response;
     }
 
     @Transactional(readOnly = true)
     public List<VenueResponse> getAllVenues() {
-        return venueRepository.findAll().stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return shardRouter.fanOut(shard -> venueRepository.findAllResponses(), Comparator.comparing(VenueResponse::id));
+    }
+
+    @Transactional(readOnly = true)
+    public PageResponse<VenueResponse> getVenuesPage(String cursor, int limit) {
+        PageResponse.validateLimit(limit);
+        Long afterId = PageResponse.decodeCursor(cursor);
+        List<VenueResponse> venues = shardRouter.fanOut(
+                shard -> venueRepository.findResponsesAfter(afterId, Limit.of(limit + 1)),
+                Comparator.comparing(VenueResponse::id));
+        boolean hasMore = venues.size() > limit;
+        List<VenueResponse> items = hasMore ? venues.subList(0, limit) : venues;
+        String nextCursor = hasMore ? PageResponse.encodeCursor(items.get(items.size() - 1).id()) : null;
+        return new PageResponse<>(items, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportVenues(OutputStream out) throws IOException {
+        return ndjsonExporter.write(shard -> venueRepository.streamAllResponses(), out);
     }
 
+    @Cacheable(cacheNames = CacheConfig.VENUES, key = "#id")
     @Transactional(readOnly = true)
     public VenueResponse getVenueById(Long id) {
-        Venue venue = venueRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Venue not found with ID: " + id));
-        
-        if (venue.getSport() != null) {
-            venue.getSport().getId();
-        }
+        Venue venue = shardRouter.onShardOf(id, () -> venueRepository.findActiveById(id))
+                .orElseThrow(() -> new VenueNotFoundException(id));
         return mapToResponse(venue);
     }
 
+    /**
+     * All venues for a sport, sorted by id. Cached per sport code and evicted
+     * when a venue of that sport is created or deleted.
+     */
+    @Cacheable(cacheNames = CacheConfig.VENUES_BY_SPORT, key = "#sportCode.toLowerCase(T(java.util.Locale).ROOT)")
+    @Transactional(readOnly = true)
+    public List<VenueResponse> getVenuesBySport(String sportCode) {
+        return shardRouter.fanOut(shard -> venueRepository.findResponsesBySportCode(sportCode),
+                Comparator.comparing(VenueResponse::id));
+    }
+
+    /**
+     * Hides the venue at once by stamping {@code deleted_at}; its slots and
+     * bookings are purged in batches by {@link VenueDeletionJob} once this
+     * commits. Deleting a venue that is already being purged returns the
+     * progress of that purge, and retries it if it failed.
+     */
+    @CacheEvict(cacheNames = CacheConfig.VENUES, key = "#id")
     @Transactional
-    public void deleteVenue(Long id) {
-        if (!venueRepository.existsById(id)) {
-            throw new IllegalArgumentException("Venue not found with ID: " + id);
+    public VenueDeletionResponse deleteVenue(Long id) {
+        Venue venue = shardRouter.onShardOf(id, () -> venueRepository.findById(id))
+                .orElseThrow(() -> new VenueNotFoundException(id));
+        if (venue.getDeletedAt() != null) {
+            return venueDeletionJob.submit(id);
         }
-        venueRepository.deleteById(id);
-        log.info("Deleted venue with ID: {}", id);
+        venue.setDeletedAt(LocalDateTime.now());
+        evictVenuesBySport(venue.getSportCode());
+        eventPublisher.publishEvent(new VenueDeletedEvent(id));
+        log.info("Deleted venue with ID: {}, purging its slots and bookings", id);
+        return new VenueDeletionResponse(id, VenueDeletionResponse.Status.QUEUED, null, 0L, 0L, null, null, null);
     }
 
-    private VenueResponse mapToResponse(Venue venue) {
-        VenueResponse response = new VenueResponse();
-        response.setId(venue.getId());
-        response.setName(venue.getName());
-        response.setLocation(venue.getLocation());
-        response.setSportCode(venue.getSportCode());
-        response.setSportId(venue.getSport() != null ? venue.getSport().getId().toString() : null);
-        response.setDescription(venue.getDescription());
-        response.setCapacity(venue.getCapacity());
-        response.setCreatedAt(venue.getCreatedAt());
-        response.setUpdatedAt(venue.getUpdatedAt());
-        return response;
+    public VenueDeletionResponse getDeletionStatus(Long id) {
+        return venueDeletionJob.status(id)
+                .orElseThrow(() -> new IllegalArgumentException("No deletion in progress for venue ID: " + id));
+    }
+
+    private void evictVenuesBySport(String sportCode) {
+        Cache cache = cacheManager.getCache(CacheConfig.VENUES_BY_SPORT);
+        if (cache != null) {
+            cache.evict(sportCode.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    VenueResponse mapToResponse(Venue venue) {
+        return new VenueResponse(venue.getId(), venue.getName(), venue.getLocation(), venue.getSportCode(),
+                venue.getSport() != null ? venue.getSport().getId().toString() : null, venue.getDescription(),
+                venue.getCapacity(), venue.getLatitude(), venue.getLongitude(), venue.getCreatedAt(), venue.getUpdatedAt());
     }
 }
 
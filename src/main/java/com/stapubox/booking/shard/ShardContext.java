@@ -0,0 +1,31 @@
+package com.stapubox.booking.shard;
+
+/**
+ * The shard the current thread is working on. Read by
+ * {@link ShardRoutingDataSource} when a connection is fetched, so it must be
+ * bound before a transaction's first statement; unbound means shard 0.
+ */
+public final class ShardContext {
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    static Integer bind(Integer shard) {
+        Integer previous = CURRENT.get();
+        CURRENT.set(shard);
+        return previous;
+    }
+
+    static void restore(Integer previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.stapubox.booking.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.List;
+
+/**
+ * The connection pools of all shards, indexed by shard number. Shard 0 is a
+ * bean of its own; the others are closed with this holder.
+ */
+public class ShardDataSources implements AutoCloseable {
+    private final List<HikariDataSource> shards;
+
+    public ShardDataSources(List<HikariDataSource> shards) {
+        this.shards = List.copyOf(shards);
+    }
+
+    public List<HikariDataSource> all() {
+        return shards;
+    }
+
+    @Override
+    public void close() {
+        shards.subList(1, shards.size()).forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,43 @@
+package com.stapubox.booking.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Consistent-hash ring with virtual nodes. Each shard owns
+ * {@code virtualNodes} points on a 64-bit ring and a key belongs to the first
+ * point at or after its hash, so adding a shard takes over only about
+ * {@code 1 / shards} of the key space.
+ */
+public class ShardRing {
+    private final TreeMap<Long, Integer> ring = new TreeMap<>();
+
+    public ShardRing(int shards, int virtualNodes) {
+        if (shards < 1 || virtualNodes < 1) {
+            throw new IllegalArgumentException("A shard ring needs at least one shard and one virtual node");
+        }
+        for (int shard = 0; shard < shards; shard++) {
+            for (int node = 0; node < virtualNodes; node++) {
+                ring.put(hash("shard-" + shard + "#" + node), shard);
+            }
+        }
+    }
+
+    public int shardFor(String key) {
+        Map.Entry<Long, Integer> owner = ring.ceilingEntry(hash(key));
+        return (owner != null ? owner : ring.firstEntry()).getValue();
+    }
+
+    /** FNV-1a over the UTF-8 bytes, finished with the SplitMix64 mixer to spread similar keys. */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
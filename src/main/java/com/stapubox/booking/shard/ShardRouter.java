@@ -0,0 +1,195 @@
+package com.stapubox.booking.shard;
+
+import com.stapubox.booking.config.BookingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Decides which shard a venue, slot or booking lives on and runs work there.
+ * A new venue is placed on the {@link ShardRing} by name and location; from
+ * then on the shard is carried in the top bits of every venue, slot and
+ * booking ID (each shard's identity columns start at {@code shard << 40}),
+ * so a lookup by ID routes without a directory. With sharding disabled there
+ * is one shard and everything runs inline, exactly as before.
+ */
+@Component
+@Slf4j
+public class ShardRouter {
+    public static final int ID_BITS = 40;
+
+    private final int shardCount;
+    private final ShardRing ring;
+    private final TransactionTemplate shardReadTransaction;
+    private final ExecutorService fanOutExecutor;
+    private final Timer fanOutTimer;
+
+    public ShardRouter(BookingProperties bookingProperties, PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry) {
+        BookingProperties.Sharding properties = bookingProperties.getSharding();
+        this.shardCount = properties.isEnabled() ? 1 + properties.getShards().size() : 1;
+        this.ring = new ShardRing(shardCount, properties.getVirtualNodes());
+        // A new transaction per shard, so a caller's transaction is never reused on another shard's connection.
+        this.shardReadTransaction = new TransactionTemplate(transactionManager);
+        shardReadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        shardReadTransaction.setReadOnly(true);
+        AtomicInteger threads = new AtomicInteger();
+        this.fanOutExecutor = isSharded() ? Executors.newFixedThreadPool(properties.getFanOutThreads(), r -> {
+            Thread thread = new Thread(r, "shard-fan-out-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+        this.fanOutTimer = Timer.builder("shard.fan-out").register(meterRegistry);
+        if (isSharded()) {
+            log.info("Sharding enabled across {} databases", shardCount);
+        }
+    }
+
+    public boolean isSharded() {
+        return shardCount > 1;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public static long firstIdOf(int shard) {
+        return ((long) shard << ID_BITS) + 1;
+    }
+
+    public int shardOf(Long id) {
+        if (!isSharded()) {
+            return 0;
+        }
+        long shard = id >>> ID_BITS;
+        if (shard >= shardCount) {
+            throw new IllegalArgumentException("No shard holds ID: " + id);
+        }
+        return (int) shard;
+    }
+
+    /** The shard all of {@code ids} live on; a request spanning shards cannot be served in one transaction. */
+    public int commonShardOf(Collection<Long> ids) {
+        int shard = shardOf(ids.iterator().next());
+        for (Long id : ids) {
+            if (shardOf(id) != shard) {
+                throw new IllegalArgumentException("IDs must all belong to venues on the same shard: " + ids);
+            }
+        }
+        return shard;
+    }
+
+    public int placeVenue(String name, String location) {
+        return ring.shardFor(name.trim().toLowerCase(Locale.ROOT) + "|" + location.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * The shard an Idempotency-Key is stored on, whichever shard its booking
+     * lands on, so every use of the key is checked against one table.
+     */
+    public int placeIdempotencyKey(String key) {
+        return ring.shardFor(key);
+    }
+
+    /**
+     * Runs {@code work} with {@code shard} bound. Inside a transaction it must
+     * come before the first statement, which is when the connection is fetched.
+     */
+    public <T> T onShard(int shard, Supplier<T> work) {
+        Integer previous = ShardContext.bind(shard);
+        try {
+            return work.get();
+        } finally {
+            ShardContext.restore(previous);
+        }
+    }
+
+    public void onShard(int shard, Runnable work) {
+        onShard(shard, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public <T> T onShardOf(Long id, Supplier<T> work) {
+        return onShard(shardOf(id), work);
+    }
+
+    /** Runs {@code work} on every shard in turn; each repository call makes its own transaction. */
+    public void forEachShard(IntConsumer work) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            int current = shard;
+            onShard(shard, () -> work.accept(current));
+        }
+    }
+
+    /**
+     * Runs a read on one shard in its own read-only transaction. Unsharded, it
+     * runs inline and joins the caller's transaction.
+     */
+    public <T> T read(int shard, Supplier<T> query) {
+        if (!isSharded()) {
+            return query.get();
+        }
+        return onShard(shard, () -> shardReadTransaction.execute(status -> query.get()));
+    }
+
+    /**
+     * Runs {@code query} on all shards in parallel and concatenates the
+     * results in shard order.
+     */
+    public <T> List<T> fanOut(IntFunction<? extends Collection<T>> query) {
+        if (!isSharded()) {
+            return new ArrayList<>(query.apply(0));
+        }
+        return fanOutTimer.record(() -> {
+            List<CompletableFuture<? extends Collection<T>>> futures = new ArrayList<>(shardCount);
+            for (int shard = 0; shard < shardCount; shard++) {
+                int current = shard;
+                futures.add(CompletableFuture.supplyAsync(() -> read(current, () -> query.apply(current)), fanOutExecutor));
+            }
+            List<T> merged = new ArrayList<>();
+            try {
+                futures.forEach(future -> merged.addAll(future.join()));
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+            return merged;
+        });
+    }
+
+    /** Like {@link #fanOut(IntFunction)}, with the merged results sorted when more than one shard answered. */
+    public <T> List<T> fanOut(IntFunction<? extends Collection<T>> query, Comparator<? super T> order) {
+        List<T> merged = fanOut(query);
+        if (isSharded()) {
+            merged.sort(order);
+        }
+        return merged;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (fanOutExecutor != null) {
+            fanOutExecutor.shutdownNow();
+        }
+    }
+}
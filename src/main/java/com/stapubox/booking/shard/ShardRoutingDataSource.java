@@ -0,0 +1,40 @@
+package com.stapubox.booking.shard;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hands out connections to the shard bound in {@link ShardContext}, or to
+ * shard 0 when nothing is bound.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+    private final Counter[] routed;
+
+    public ShardRoutingDataSource(List<? extends DataSource> shards, MeterRegistry meterRegistry) {
+        Map<Object, Object> targets = new HashMap<>();
+        this.routed = new Counter[shards.size()];
+        for (int shard = 0; shard < shards.size(); shard++) {
+            targets.put(shard, shards.get(shard));
+            routed[shard] = Counter.builder("datasource.shard.connections")
+                    .tag("shard", String.valueOf(shard))
+                    .register(meterRegistry);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer shard = ShardContext.current();
+        int key = shard != null ? shard : 0;
+        routed[key].increment();
+        return key;
+    }
+}
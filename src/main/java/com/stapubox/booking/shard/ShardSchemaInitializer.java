@@ -0,0 +1,103 @@
+package com.stapubox.booking.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+
+import java.sql.DatabaseMetaData;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Prepares shards 1..N, which Hibernate's own schema management never sees
+ * because it only talks to shard 0: applies the same {@code ddl-auto} action,
+ * then moves each shard's venue, slot, booking and outbox identity columns
+ * to start at {@code shard << 40} so IDs are unique across shards and name
+ * their shard.
+ */
+@Slf4j
+public class ShardSchemaInitializer implements InitializingBean {
+    private static final List<String> SHARDED_TABLES = List.of("venues", "slots", "bookings", "booking_outbox");
+    private static final Set<String> SCHEMA_UPDATING_MODES = Set.of("update", "create", "create-drop", "create-only");
+    private static final List<String> COPIED_SETTINGS = List.of(
+            AvailableSettings.DIALECT, AvailableSettings.PHYSICAL_NAMING_STRATEGY, AvailableSettings.IMPLICIT_NAMING_STRATEGY);
+
+    private final ShardDataSources shardDataSources;
+    private final EntityManagerFactory entityManagerFactory;
+    private final String ddlAuto;
+
+    public ShardSchemaInitializer(ShardDataSources shardDataSources, EntityManagerFactory entityManagerFactory,
+                                  String ddlAuto) {
+        this.shardDataSources = shardDataSources;
+        this.entityManagerFactory = entityManagerFactory;
+        this.ddlAuto = ddlAuto;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        List<HikariDataSource> shards = shardDataSources.all();
+        for (int shard = 1; shard < shards.size(); shard++) {
+            if (SCHEMA_UPDATING_MODES.contains(ddlAuto)) {
+                manageSchema(shards.get(shard));
+            }
+            offsetIdentities(shard, shards.get(shard));
+        }
+    }
+
+    // The native bootstrap of Hibernate 6.3 only takes a DataSource instance under the deprecated
+    // DATASOURCE key; its replacement, JAKARTA_NON_JTA_DATASOURCE, is only read through JPA bootstrap.
+    @SuppressWarnings("deprecation")
+    private void manageSchema(HikariDataSource dataSource) {
+        StandardServiceRegistryBuilder registryBuilder = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DATASOURCE, dataSource);
+        Map<String, Object> properties = entityManagerFactory.getProperties();
+        COPIED_SETTINGS.stream()
+                .filter(properties::containsKey)
+                .forEach(setting -> registryBuilder.applySetting(setting, properties.get(setting)));
+        StandardServiceRegistry registry = registryBuilder.build();
+        try {
+            MetadataSources sources = new MetadataSources(registry);
+            for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+                sources.addAnnotatedClass(entity.getJavaType());
+            }
+            Metadata metadata = sources.buildMetadata();
+            // create-drop drops only shard 0 on shutdown; the other shards keep their tables.
+            SchemaManagementToolCoordinator.process(metadata, registry,
+                    Map.of(AvailableSettings.HBM2DDL_AUTO, ddlAuto), action -> { });
+            log.info("Applied ddl-auto={} to {}", ddlAuto, dataSource.getPoolName());
+        } finally {
+            StandardServiceRegistryBuilder.destroy(registry);
+        }
+    }
+
+    private void offsetIdentities(int shard, HikariDataSource dataSource) throws Exception {
+        String product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        long firstId = ShardRouter.firstIdOf(shard);
+        for (String table : SHARDED_TABLES) {
+            Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+            if (maxId != null && maxId >= firstId) {
+                continue;
+            }
+            if (product.contains("H2")) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + firstId);
+            } else if (product.contains("MySQL")) {
+                jdbcTemplate.execute("ALTER TABLE " + table + " AUTO_INCREMENT = " + firstId);
+            } else {
+                throw new IllegalStateException("Cannot offset identity columns on " + product);
+            }
+        }
+        log.info("Identities of {} start at {}", dataSource.getPoolName(), firstId);
+    }
+}
@@ -0,0 +1,95 @@
+package com.stapubox.booking.shard;
+
+import com.stapubox.booking.config.BookingProperties;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One connection pool per shard behind a routing DataSource, replacing Spring
+ * Boot's single pool when {@code booking.sharding.enabled} is set. Shard 0 is
+ * configured from {@code spring.datasource}, the others from
+ * {@code booking.sharding.shards}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "booking.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource shard0DataSource(DataSourceProperties properties, BookingProperties bookingProperties,
+                                             @Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        if (bookingProperties.getReplica().isEnabled()) {
+            throw new IllegalStateException("booking.sharding and booking.replica cannot be enabled together");
+        }
+        // An open-in-view EntityManager keeps its first connection for the whole request, whatever shard is bound later.
+        if (openInView) {
+            throw new IllegalStateException("booking.sharding requires spring.jpa.open-in-view=false");
+        }
+        if (bookingProperties.getSharding().getShards().isEmpty()) {
+            throw new IllegalStateException("booking.sharding.shards must list at least one shard besides spring.datasource");
+        }
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("shard-0");
+        return dataSource;
+    }
+
+    @Bean
+    public ShardDataSources shardDataSources(@Qualifier("shard0DataSource") HikariDataSource shard0,
+                                             BookingProperties bookingProperties) {
+        List<HikariDataSource> shards = new ArrayList<>();
+        shards.add(shard0);
+        for (BookingProperties.Sharding.Shard shard : bookingProperties.getSharding().getShards()) {
+            if (!StringUtils.hasText(shard.getUrl())) {
+                throw new IllegalStateException("booking.sharding.shards[" + (shards.size() - 1) + "].url is required");
+            }
+            DataSourceBuilder<HikariDataSource> builder = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword());
+            if (StringUtils.hasText(shard.getDriverClassName())) {
+                builder.driverClassName(shard.getDriverClassName());
+            }
+            HikariDataSource dataSource = builder.build();
+            dataSource.setPoolName("shard-" + shards.size());
+            dataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            shards.add(dataSource);
+        }
+        return new ShardDataSources(shards);
+    }
+
+    /**
+     * The lazy proxy defers fetching a connection to the first statement, by
+     * which time the service has bound the shard it is working on.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSources shardDataSources, MeterRegistry meterRegistry) {
+        ShardRoutingDataSource routing = new ShardRoutingDataSource(shardDataSources.all(), meterRegistry);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public ShardSchemaInitializer shardSchemaInitializer(ShardDataSources shardDataSources,
+                                                         EntityManagerFactory entityManagerFactory,
+                                                         @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto) {
+        return new ShardSchemaInitializer(shardDataSources, entityManagerFactory, ddlAuto);
+    }
+}
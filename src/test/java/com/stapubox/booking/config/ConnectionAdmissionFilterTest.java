@@ -0,0 +1,91 @@
+package com.stapubox.booking.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * ConnectionAdmissionFilter with a single permit, so whether a second request
+ * gets through shows whether the first one still holds it.
+ */
+class ConnectionAdmissionFilterTest {
+    private final ConnectionAdmissionFilter filter = filter();
+
+    @Test
+    void releasesThePermitWhenTheRequestReturns() throws Exception {
+        filter.doFilter(request(), new MockHttpServletResponse(), (req, res) -> { });
+
+        assertThat(admitted()).isTrue();
+    }
+
+    @Test
+    void holdsThePermitUntilAsyncProcessingCompletes() throws Exception {
+        MockHttpServletRequest export = request();
+        filter.doFilter(export, new MockHttpServletResponse(), startAsync());
+
+        assertThat(admitted()).isFalse();
+
+        ((MockAsyncContext) export.getAsyncContext()).complete();
+        assertThat(admitted()).isTrue();
+    }
+
+    @Test
+    void releasesThePermitOnceWhenAsyncProcessingTimesOut() throws Exception {
+        MockHttpServletRequest export = request();
+        filter.doFilter(export, new MockHttpServletResponse(), startAsync());
+        MockAsyncContext async = (MockAsyncContext) export.getAsyncContext();
+
+        // A timeout is followed by completion; the permit must come back only once.
+        async.getListeners().forEach(listener -> {
+            try {
+                listener.onTimeout(null);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        async.complete();
+
+        MockHttpServletRequest holder = request();
+        filter.doFilter(holder, new MockHttpServletResponse(), startAsync());
+        assertThat(admitted()).isFalse();
+        ((MockAsyncContext) holder.getAsyncContext()).complete();
+        assertThat(admitted()).isTrue();
+    }
+
+    /** Whether a plain request gets through now. */
+    private boolean admitted() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(), response, (req, res) -> { });
+        return response.getStatus() != HttpStatus.SERVICE_UNAVAILABLE.value();
+    }
+
+    private static FilterChain startAsync() {
+        return (req, res) -> req.startAsync();
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/venues/1/slots/export");
+        request.setAsyncSupported(true);
+        return request;
+    }
+
+    private static ConnectionAdmissionFilter filter() {
+        BookingProperties properties = new BookingProperties();
+        properties.getConnectionAdmission().setEnabled(true);
+        properties.getConnectionAdmission().setPermits(1);
+        properties.getConnectionAdmission().setMaxWait(Duration.ofMillis(20));
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        return new ConnectionAdmissionFilter(properties, mock(DataSource.class), objectMapper, new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,179 @@
+package com.stapubox.booking.config;
+
+import com.stapubox.booking.dto.BookingRequest;
+import com.stapubox.booking.dto.BookingResponse;
+import com.stapubox.booking.dto.BulkSlotRequest;
+import com.stapubox.booking.dto.SlotResponse;
+import com.stapubox.booking.dto.VenueRequest;
+import com.stapubox.booking.dto.VenueResponse;
+import com.stapubox.booking.model.Sport;
+import com.stapubox.booking.repository.SportRepository;
+import com.stapubox.booking.service.BookingService;
+import com.stapubox.booking.service.SlotService;
+import com.stapubox.booking.service.VenueService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Calls every {@link QueryBudget} endpoint against seeded data and fails when
+ * one issues more SQL statements than its budget. Strict mode is on in the
+ * test profile, so an overrun also fails the request itself.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryBudgetTest {
+    private static final String SPORT_CODE = "budget-football";
+    private static final int VENUES = 3;
+    private static final int SLOTS_PER_DAY = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+    @Autowired
+    private SportRepository sportRepository;
+    @Autowired
+    private VenueService venueService;
+    @Autowired
+    private SlotService slotService;
+    @Autowired
+    private BookingService bookingService;
+
+    private final Set<Method> called = new HashSet<>();
+    private final LocalDate date = LocalDate.now().plusDays(1);
+    private Long venueId;
+    private Long bookingId;
+
+    @BeforeAll
+    void seed() {
+        sportRepository.save(new Sport(null, SPORT_CODE, "Football", "budget-1"));
+        BulkSlotRequest slots = new BulkSlotRequest();
+        slots.setStartDate(date);
+        slots.setEndDate(date.plusDays(1));
+        slots.setStartTime(LocalTime.of(6, 0));
+        slots.setEndTime(LocalTime.of(6 + SLOTS_PER_DAY, 0));
+        slots.setDurationMinutes(60);
+        slots.setPrice(500.0);
+        for (int i = 0; i < VENUES; i++) {
+            VenueRequest venue = new VenueRequest();
+            venue.setName("Budget Arena " + i);
+            venue.setLocation("Sector " + i);
+            venue.setSportCode(SPORT_CODE);
+            venue.setDescription("Floodlit turf");
+            venue.setLatitude(12.97 + i * 0.01);
+            venue.setLongitude(77.59);
+            VenueResponse created = venueService.createVenue(venue);
+            slotService.createSlots(created.id(), slots);
+            for (SlotResponse slot : slotService.getSlotsByVenue(created.id()).subList(0, 2)) {
+                BookingRequest booking = new BookingRequest();
+                booking.setSlotId(slot.id());
+                booking.setCustomerName("Customer " + slot.id());
+                booking.setCustomerEmail("customer" + slot.id() + "@example.com");
+                booking.setCustomerPhone("9876543210");
+                BookingResponse response = bookingService.createBooking(booking);
+                bookingId = response.id();
+            }
+            venueId = created.id();
+        }
+    }
+
+    @Test
+    void venueListings() throws Exception {
+        assertWithinBudget("/venues");
+        assertWithinBudget("/venues?limit=2");
+        assertWithinBudget("/venues/" + venueId);
+    }
+
+    @Test
+    void venueSearch() throws Exception {
+        assertWithinBudget("/venues/search?q=arena");
+        assertWithinBudget("/venues/search?q=arena&sportCode=" + SPORT_CODE
+                + "&date=" + date + "&startTime=08:00:00&endTime=09:00:00");
+        assertWithinBudget("/venues/search/suggest?q=are");
+    }
+
+    @Test
+    void slotListings() throws Exception {
+        assertWithinBudget("/venues/" + venueId + "/slots");
+        assertWithinBudget("/venues/" + venueId + "/slots?limit=3");
+    }
+
+    @Test
+    void bookingListings() throws Exception {
+        assertWithinBudget("/bookings");
+        assertWithinBudget("/bookings?limit=2");
+        assertWithinBudget("/bookings/" + bookingId);
+    }
+
+    @Test
+    void availability() throws Exception {
+        String window = "date=" + date + "&startTime=08:00:00&endTime=09:00:00&sportCode=" + SPORT_CODE;
+        assertWithinBudget("/venues/available?" + window);
+        assertWithinBudget("/venues/available?" + window + "&latitude=12.97&longitude=77.59&radiusKm=5&limit=2");
+        // A past date is not in the availability index, so it is answered by the database.
+        assertWithinBudget("/venues/available?date=2020-01-01&startTime=08:00:00&endTime=09:00:00&sportCode="
+                + SPORT_CODE);
+        assertWithinBudget("/venues/available/slots?sportCode=" + SPORT_CODE + "&fromDate=" + date
+                + "&toDate=" + date.plusDays(1) + "&durationMinutes=60&earliestStart=06:00:00&latestEnd=22:00:00");
+    }
+
+    @AfterAll
+    void everyBudgetedEndpointIsCalled() {
+        Set<Method> budgeted = handlerMapping.getHandlerMethods().values().stream()
+                .filter(method -> method.hasMethodAnnotation(QueryBudget.class))
+                .map(HandlerMethod::getMethod)
+                .collect(Collectors.toSet());
+        assertThat(called).containsExactlyInAnyOrderElementsOf(budgeted);
+    }
+
+    private void assertWithinBudget(String url) throws Exception {
+        Map<String, Double> before = statementsByEndpoint();
+        MvcResult result = mockMvc.perform(get(url)).andExpect(status().isOk()).andReturn();
+        HandlerMethod handler = (HandlerMethod) result.getHandler();
+        QueryBudget budget = handler.getMethodAnnotation(QueryBudget.class);
+        assertThat(budget).as("@QueryBudget on %s", handler).isNotNull();
+        called.add(handler.getMethod());
+
+        String endpoint = result.getRequest().getMethod() + " "
+                + result.getRequest().getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        double statements = statementsByEndpoint().get(endpoint) - before.getOrDefault(endpoint, 0.0);
+        assertThat(statements).as("statements issued by GET %s", url).isLessThanOrEqualTo(budget.value());
+    }
+
+    private Map<String, Double> statementsByEndpoint() {
+        return meterRegistry.find("http.server.requests.queries").summaries().stream()
+                .collect(Collectors.toMap(summary -> summary.getId().getTag("endpoint"),
+                        DistributionSummary::totalAmount));
+    }
+}
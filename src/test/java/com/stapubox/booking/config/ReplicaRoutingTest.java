@@ -0,0 +1,213 @@
+package com.stapubox.booking.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stapubox.booking.dto.VenueRequest;
+import com.stapubox.booking.model.Sport;
+import com.stapubox.booking.repository.SportRepository;
+import com.stapubox.booking.service.VenueService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import javax.sql.DataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Replica routing against two H2 databases. The replica starts as a copy of
+ * the primary and is then left behind, so which venues a read returns shows
+ * which database served it. Replication of the heartbeat is simulated by
+ * copying the primary's row across while {@link #replicating} is set.
+ */
+@SpringBootTest(properties = {
+        "booking.replica.enabled=true",
+        "booking.replica.username=sa",
+        "booking.replica.password=",
+        "booking.replica.lag-check-interval=PT0.1S",
+        "booking.replica.max-lag=PT0.5S",
+        "booking.replica.sticky-window=PT5S"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReplicaRoutingTest {
+    private static final String REPLICA_URL =
+            "jdbc:h2:mem:replica-" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE";
+    private static final String SPORT_CODE = "replica-football";
+
+    @DynamicPropertySource
+    static void replicaUrl(DynamicPropertyRegistry registry) {
+        registry.add("booking.replica.url", () -> REPLICA_URL);
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+    @Autowired
+    private SportRepository sportRepository;
+    @Autowired
+    private VenueService venueService;
+
+    private final DataSource replicaDataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+    private final ScheduledExecutorService replication = Executors.newSingleThreadScheduledExecutor();
+    private volatile boolean replicating = true;
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeAll
+    void copyPrimaryToReplica() throws Exception {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        sportRepository.save(new Sport(null, SPORT_CODE, "Football", "replica-1"));
+        venueService.createVenue(venue("Replicated Arena"));
+
+        Path snapshot = Files.createTempFile("replica", ".sql");
+        try {
+            primary.execute("SCRIPT TO '" + snapshot + "'");
+            replica.execute("RUNSCRIPT FROM '" + snapshot + "'");
+        } finally {
+            Files.deleteIfExists(snapshot);
+        }
+        // Only the heartbeat keeps replicating; rows written from now on stay on the primary.
+        venueService.createVenue(venue("Primary Only Arena"));
+        replication.scheduleWithFixedDelay(() -> {
+            if (replicating) {
+                Long beat = primary.queryForObject("SELECT beat_at FROM replica_heartbeat WHERE id = 1", Long.class);
+                replica.update("MERGE INTO replica_heartbeat KEY (id) VALUES (1, ?)", beat);
+            }
+        }, 0, 20, TimeUnit.MILLISECONDS);
+    }
+
+    @AfterAll
+    void stopReplication() {
+        replication.shutdownNow();
+    }
+
+    @Test
+    void readsFromTheReplicaWhileItKeepsUp() throws Exception {
+        replicating = true;
+        await(replicaLagMonitor::isReplicaUsable);
+        double before = routed("replica", "read_only");
+
+        assertThat(venueNames(get("/venues"))).containsExactly("Replicated Arena");
+        assertThat(routed("replica", "read_only")).isGreaterThan(before);
+    }
+
+    @Test
+    void fallsBackToThePrimaryWhileTheReplicaLags() throws Exception {
+        replicating = false;
+        try {
+            await(() -> !replicaLagMonitor.isReplicaUsable());
+            double before = routed("primary", "replica_unavailable");
+
+            assertThat(venueNames(get("/venues"))).contains("Replicated Arena", "Primary Only Arena");
+            assertThat(routed("primary", "replica_unavailable")).isGreaterThan(before);
+        } finally {
+            replicating = true;
+        }
+    }
+
+    @Test
+    void readsItsOwnWritesFromThePrimary() throws Exception {
+        replicating = true;
+        await(replicaLagMonitor::isReplicaUsable);
+
+        MvcResult created = mockMvc.perform(post("/venues")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(venue("Just Written Arena"))))
+                .andExpect(status().isCreated())
+                .andReturn();
+        Cookie sticky = created.getResponse().getCookie(ReadYourWritesFilter.COOKIE);
+        assertThat(sticky).isNotNull();
+        double before = routed("primary", "read_your_writes");
+
+        assertThat(venueNames(get("/venues").cookie(sticky))).contains("Just Written Arena");
+        assertThat(routed("primary", "read_your_writes")).isGreaterThan(before);
+        assertThat(venueNames(get("/venues"))).doesNotContain("Just Written Arena");
+    }
+
+    @Test
+    void stopsTrustingAVerdictThatIsNoLongerRefreshed() throws Exception {
+        replicating = true;
+        BookingProperties.Replica properties = new BookingProperties.Replica();
+        properties.setLagCheckInterval(Duration.ofMillis(100));
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(primaryDataSource, replicaDataSource, properties,
+                new SimpleMeterRegistry());
+        monitor.afterPropertiesSet();
+        monitor.check();
+        Thread.sleep(60);
+        monitor.check();
+        assertThat(monitor.isReplicaUsable()).isTrue();
+
+        // No further checks run, as if the scheduler were stuck.
+        Thread.sleep(250);
+        assertThat(monitor.isReplicaUsable()).isFalse();
+    }
+
+    private List<String> venueNames(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult result = mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+        List<String> names = new ArrayList<>();
+        for (JsonNode venue : objectMapper.readTree(result.getResponse().getContentAsString())) {
+            names.add(venue.get("name").asText());
+        }
+        return names;
+    }
+
+    private double routed(String target, String reason) {
+        return meterRegistry.get("datasource.routing").tag("target", target).tag("reason", reason).counter().count();
+    }
+
+    private static VenueRequest venue(String name) {
+        VenueRequest venue = new VenueRequest();
+        venue.setName(name);
+        venue.setLocation("Sector 9");
+        venue.setSportCode(SPORT_CODE);
+        return venue;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(condition.getAsBoolean()).as("condition met within 10 seconds").isTrue();
+    }
+}
@@ -0,0 +1,141 @@
+package com.stapubox.booking.controller;
+
+import com.stapubox.booking.config.BookingProperties;
+import com.stapubox.booking.dto.BatchBookingRequest;
+import com.stapubox.booking.dto.BookingRequest;
+import com.stapubox.booking.dto.SlotRequest;
+import com.stapubox.booking.dto.VenueRequest;
+import com.stapubox.booking.model.Sport;
+import com.stapubox.booking.repository.SportRepository;
+import com.stapubox.booking.service.BookingService;
+import com.stapubox.booking.service.SlotService;
+import com.stapubox.booking.service.SportService;
+import com.stapubox.booking.service.VenueService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Slots of a soft-deleted venue can be neither listed nor booked. The venue is
+ * stamped directly rather than through DELETE, so the background purge does
+ * not remove its slots before the assertions run.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class DeletedVenueSlotsTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private SportRepository sportRepository;
+    @Autowired
+    private SportService sportService;
+    @Autowired
+    private VenueService venueService;
+    @Autowired
+    private SlotService slotService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingProperties bookingProperties;
+
+    private Long deletedVenueId;
+    private Long emptyVenueId;
+    private List<Long> slotIds;
+
+    @BeforeAll
+    void seed() {
+        sportRepository.save(new Sport(null, "deleted-football", "Football", null));
+        // The context may be shared with a suite that already loaded the catalog.
+        sportService.refreshCatalog();
+        deletedVenueId = venueService.createVenue(venue("Closed Arena")).id();
+        emptyVenueId = venueService.createVenue(venue("New Arena")).id();
+        slotIds = List.of(slot(LocalTime.of(8, 0)), slot(LocalTime.of(9, 0)), slot(LocalTime.of(10, 0)));
+        jdbcTemplate.update("UPDATE venues SET deleted_at = CURRENT_TIMESTAMP WHERE id = ?", deletedVenueId);
+    }
+
+    @Test
+    void slotListingsOfADeletedVenueAreNotFound() throws Exception {
+        for (String path : List.of("/slots", "/slots?limit=2", "/slots/export")) {
+            mockMvc.perform(get("/venues/" + deletedVenueId + path))
+                    .andExpect(status().isNotFound())
+                    .andExpect(jsonPath("$.message").value("Venue not found with ID: " + deletedVenueId));
+        }
+        mockMvc.perform(get("/venues/" + deletedVenueId)).andExpect(status().isNotFound());
+        mockMvc.perform(get("/venues/987654/slots")).andExpect(status().isNotFound());
+    }
+
+    @Test
+    void aVenueWithoutSlotsListsNone() throws Exception {
+        mockMvc.perform(get("/venues/" + emptyVenueId + "/slots")).andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+        mockMvc.perform(get("/venues/" + emptyVenueId + "/slots?limit=2")).andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(0)));
+    }
+
+    @Test
+    void slotsOfADeletedVenueCannotBeBooked() {
+        BookingProperties.Strategy strategy = bookingProperties.getStrategy();
+        try {
+            for (BookingProperties.Strategy tried : BookingProperties.Strategy.values()) {
+                bookingProperties.setStrategy(tried);
+                assertThatThrownBy(() -> bookingService.createBooking(booking(slotIds.get(0))))
+                        .as("booking with the %s strategy", tried)
+                        .hasMessageContaining("not available");
+            }
+        } finally {
+            bookingProperties.setStrategy(strategy);
+        }
+
+        BatchBookingRequest cart = new BatchBookingRequest();
+        cart.setSlotIds(slotIds.subList(1, 3));
+        cart.setCustomerName("Asha");
+        cart.setCustomerEmail("asha@example.com");
+        assertThatThrownBy(() -> bookingService.createBookings(cart)).hasMessageContaining("not available");
+    }
+
+    private Long slot(LocalTime start) {
+        SlotRequest slot = new SlotRequest();
+        slot.setSlotDate(LocalDate.now().plusDays(1));
+        slot.setStartTime(start);
+        slot.setEndTime(start.plusHours(1));
+        slot.setPrice(500.0);
+        return slotService.createSlot(deletedVenueId, slot).id();
+    }
+
+    private static VenueRequest venue(String name) {
+        VenueRequest venue = new VenueRequest();
+        venue.setName(name);
+        venue.setLocation("Sector 4");
+        venue.setSportCode("deleted-football");
+        return venue;
+    }
+
+    private static BookingRequest booking(Long slotId) {
+        BookingRequest request = new BookingRequest();
+        request.setSlotId(slotId);
+        request.setCustomerName("Asha");
+        request.setCustomerEmail("asha@example.com");
+        request.setCustomerPhone("9876543210");
+        return request;
+    }
+}
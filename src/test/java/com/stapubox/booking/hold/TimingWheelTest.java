@@ -0,0 +1,119 @@
+package com.stapubox.booking.hold;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TimingWheelTest {
+    private static final long TICK = 10;
+
+    @Test
+    void firesOnTheTickAfterTheDueTime() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 4, 1_000);
+        wheel.schedule("a", 1_025);
+
+        assertThat(wheel.advance(1_029)).isEmpty();
+        assertThat(wheel.advance(1_030)).containsExactly("a");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void firesPastDueEntriesOnTheNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(TICK, 4, 1_000);
+        wheel.advance(1_500);
+        wheel.schedule("late", 200);
+
+        assertThat(wheel.advance(1_505)).isEmpty();
+        assertThat(wheel.advance(1_510)).containsExactly("late");
+    }
+
+    @Test
+    void cascadesThroughSeveralLevels() {
+        // With 4 buckets of 10 ms, levels span 40 ms, 160 ms, 640 ms and 2560 ms.
+        TimingWheel<Long> wheel = new TimingWheel<>(TICK, 4, 0);
+        long[] dueTimes = {35, 39, 40, 155, 161, 639, 640, 2_555, 2_561, 9_999};
+        for (long due : dueTimes) {
+            wheel.schedule(due, due);
+        }
+
+        List<Long> fired = new ArrayList<>();
+        for (long now = 1; now <= 10_010; now++) {
+            for (long due : wheel.advance(now)) {
+                assertThat(now).as("firing time of %d", due).isEqualTo(due - due % TICK + TICK);
+                fired.add(due);
+            }
+        }
+        assertThat(fired).containsExactly(35L, 39L, 40L, 155L, 161L, 639L, 640L, 2_555L, 2_561L, 9_999L);
+    }
+
+    @Test
+    void handlesDelaysFarBeyondTheFirstLevels() {
+        long tick = 1_000;
+        long start = 1_700_000_000_000L;
+        TimingWheel<String> wheel = new TimingWheel<>(tick, 512, start);
+        long thirtyDays = 30L * 24 * 60 * 60 * 1_000;
+        wheel.schedule("month", start + thirtyDays);
+        wheel.schedule("minute", start + 60_000);
+
+        assertThat(wheel.advance(start + 60_000)).isEmpty();
+        assertThat(wheel.advance(start + 61_000)).containsExactly("minute");
+        assertThat(wheel.advance(start + thirtyDays)).isEmpty();
+        assertThat(wheel.advance(start + thirtyDays + tick)).containsExactly("month");
+    }
+
+    @Test
+    void firesEveryEntryOnceNeverEarlyAndWithinATickOfItsTime() {
+        Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            int wheelSize = 2 + random.nextInt(16);
+            long start = random.nextInt(1_000_000);
+            TimingWheel<Integer> wheel = new TimingWheel<>(TICK, wheelSize, start);
+            Map<Integer, Long> due = new HashMap<>();
+            Set<Integer> fired = new HashSet<>();
+            long now = start;
+            int next = 0;
+
+            // Schedule for the first 2 s of wheel time, then keep advancing until everything is due.
+            while (now < start + 3_200_000) {
+                int scheduled = now < start + 2_000_000 ? random.nextInt(5) : 0;
+                for (int i = 0; i < scheduled; i++) {
+                    // Mostly near, sometimes far enough to need extra levels, now and then already past.
+                    long delay = switch (random.nextInt(4)) {
+                        case 0 -> random.nextInt(100);
+                        case 1 -> random.nextInt(100_000);
+                        case 2 -> random.nextInt(1_000_000);
+                        default -> -random.nextInt(1_000);
+                    };
+                    wheel.schedule(next, now + delay);
+                    due.put(next, Math.max(now + delay, now - Math.floorMod(now, TICK)));
+                    next++;
+                }
+                long previous = now;
+                now += 1 + random.nextInt(random.nextBoolean() ? 20 : 5_000);
+                for (int item : wheel.advance(now)) {
+                    long fireAt = due.get(item) - Math.floorMod(due.get(item), TICK) + TICK;
+                    assertThat(fired.add(item)).as("item %d fired twice", item).isTrue();
+                    assertThat(now).as("item %d fired early", item).isGreaterThanOrEqualTo(fireAt);
+                    assertThat(previous).as("item %d fired late", item).isLessThan(fireAt);
+                }
+            }
+            assertThat(fired).hasSize(due.size());
+            assertThat(wheel.size()).isZero();
+        }
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThatThrownBy(() -> new TimingWheel<>(0, 8, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimingWheel<>(TICK, 1, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,100 @@
+package com.stapubox.booking.index;
+
+import com.stapubox.booking.dto.VenueResponse;
+import com.stapubox.booking.event.VenueCreatedEvent;
+import com.stapubox.booking.event.VenueDeletedEvent;
+import com.stapubox.booking.exception.IndexNotReadyException;
+import com.stapubox.booking.repository.VenueRepository;
+import com.stapubox.booking.shard.ShardRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * VenueTextIndex on its own, with the startup load stubbed out.
+ */
+class VenueTextIndexTest {
+    private final ShardRouter shardRouter = mock(ShardRouter.class);
+    private final VenueTextIndex index = new VenueTextIndex(mock(VenueRepository.class), shardRouter,
+            new SimpleMeterRegistry());
+
+    @Test
+    void refusesQueriesUntilBuilt() {
+        stubStartupLoad(List.of(venue(1, "Central Football Ground", "FOOTBALL")));
+
+        assertThatThrownBy(() -> index.search("central", null, 10, venue -> true))
+                .isInstanceOf(IndexNotReadyException.class);
+        assertThatThrownBy(() -> index.suggest("cen", 10)).isInstanceOf(IndexNotReadyException.class);
+
+        index.rebuild();
+
+        assertThat(index.isBuilt()).isTrue();
+        assertThat(ids(index.search("central", null, 10, venue -> true))).containsExactly(1L);
+        assertThat(index.suggest("cen", 10)).containsExactly("central");
+    }
+
+    @Test
+    void keepsAnsweringAfterDeletedVenuesAreCompactedAway() {
+        List<VenueResponse> venues = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            venues.add(venue(id, (id % 2 == 0 ? "Even" : "Odd") + " Arena", id % 3 == 0 ? "TENNIS" : "FOOTBALL"));
+        }
+        stubStartupLoad(venues);
+        index.rebuild();
+
+        // Deleting more than half the venues renumbers the rest, possibly more than once.
+        for (long id = 1; id <= 90; id++) {
+            index.onVenueDeleted(new VenueDeletedEvent(id));
+        }
+        index.onVenueCreated(new VenueCreatedEvent(null, venue(101, "Even Newer Arena", "FOOTBALL")));
+
+        assertThat(index.size()).isEqualTo(11);
+        assertThat(ids(index.search("arena", null, 100, venue -> true)))
+                .containsExactly(91L, 92L, 93L, 94L, 95L, 96L, 97L, 98L, 99L, 100L, 101L);
+        assertThat(ids(index.search("even", null, 100, venue -> true)))
+                .containsExactly(92L, 94L, 96L, 98L, 100L, 101L);
+        assertThat(ids(index.search("arena", "tennis", 100, venue -> true))).containsExactly(93L, 96L, 99L);
+        assertThat(ids(index.search("odd", "football", 2, venue -> venue.id() > 91))).containsExactly(95L, 97L);
+        assertThat(index.suggest("e", 10)).containsExactly("even");
+
+        index.onVenueDeleted(new VenueDeletedEvent(101L));
+        assertThat(index.search("newer", null, 10, venue -> true)).isEmpty();
+        assertThat(index.suggest("new", 10)).isEmpty();
+    }
+
+    @Test
+    void keepsOutVenuesDeletedWhileTheStartupLoadRuns() {
+        List<VenueResponse> snapshot = List.of(venue(1, "Central Football Ground", "FOOTBALL"),
+                venue(2, "Central Tennis Club", "TENNIS"));
+        // Venue 2 is deleted after the load read it but before the index holds it.
+        when(shardRouter.fanOut(any(), any())).thenAnswer(invocation -> {
+            index.onVenueDeleted(new VenueDeletedEvent(2L));
+            return new ArrayList<>(snapshot);
+        });
+
+        index.rebuild();
+
+        assertThat(ids(index.search("central", null, 10, venue -> true))).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    private void stubStartupLoad(List<VenueResponse> venues) {
+        when(shardRouter.fanOut(any(), any())).thenReturn(new ArrayList<>(venues));
+    }
+
+    private static List<Long> ids(List<VenueResponse> venues) {
+        return venues.stream().map(VenueResponse::id).toList();
+    }
+
+    private static VenueResponse venue(long id, String name, String sportCode) {
+        return new VenueResponse(id, name, "Sector 4", sportCode, null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,120 @@
+package com.stapubox.booking.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stapubox.booking.dto.BookingRequest;
+import com.stapubox.booking.dto.BookingResponse;
+import com.stapubox.booking.dto.SlotRequest;
+import com.stapubox.booking.dto.SlotResponse;
+import com.stapubox.booking.dto.VenueRequest;
+import com.stapubox.booking.model.OutboxEvent;
+import com.stapubox.booking.model.Sport;
+import com.stapubox.booking.repository.OutboxEventRepository;
+import com.stapubox.booking.repository.SportRepository;
+import com.stapubox.booking.service.BookingService;
+import com.stapubox.booking.service.SlotService;
+import com.stapubox.booking.service.VenueService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Books, cancels and lets a hold expire, then checks what the relay handed to
+ * the in-memory sink and in which order.
+ */
+@SpringBootTest(properties = {"booking.hold.ttl=PT1S", "booking.hold.tick=PT0.1S"})
+@ActiveProfiles("test")
+class OutboxEventOrderTest {
+    @Autowired
+    private SportRepository sportRepository;
+    @Autowired
+    private VenueService venueService;
+    @Autowired
+    private SlotService slotService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private InMemoryBookingEventSink sink;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void relaysBookingCancellationAndHoldExpiryInOrder() throws Exception {
+        sportRepository.save(new Sport(null, "outbox-football", "Football", null));
+        VenueRequest venue = new VenueRequest();
+        venue.setName("Outbox Arena");
+        venue.setLocation("Sector 1");
+        venue.setSportCode("outbox-football");
+        Long venueId = venueService.createVenue(venue).id();
+        SlotResponse booked = slotService.createSlot(venueId, slot(LocalTime.of(8, 0)));
+        SlotResponse held = slotService.createSlot(venueId, slot(LocalTime.of(9, 0)));
+        sink.clear();
+
+        BookingResponse booking = bookingService.createBooking(request(booked.id()));
+        bookingService.cancelBooking(booking.id());
+        BookingResponse hold = bookingService.holdSlot(request(held.id()));
+
+        await(() -> sink.getPublished().size() >= 4 && outboxEventRepository.count() == 0);
+
+        List<OutboxEvent> published = sink.getPublished();
+        assertThat(published)
+                .extracting(OutboxEvent::getEventType, OutboxEvent::getSlotId)
+                .containsExactly(
+                        tuple("BOOKING_CREATED", booked.id()),
+                        tuple("BOOKING_CANCELLED", booked.id()),
+                        tuple("BOOKING_HELD", held.id()),
+                        tuple("HOLD_EXPIRED", held.id()));
+        assertThat(published).extracting(OutboxEvent::getId).isSorted();
+
+        List<BookingEvent> events = published.stream().map(this::payload).toList();
+        assertThat(events).extracting(BookingEvent::bookingId)
+                .containsExactly(booking.id(), booking.id(), hold.id(), hold.id());
+        assertThat(events).extracting(BookingEvent::venueId).containsOnly(venueId);
+        assertThat(slotService.getSlotsByVenue(venueId)).allMatch(SlotResponse::isAvailable);
+    }
+
+    private static SlotRequest slot(LocalTime start) {
+        SlotRequest slot = new SlotRequest();
+        slot.setSlotDate(LocalDate.now().plusDays(1));
+        slot.setStartTime(start);
+        slot.setEndTime(start.plusHours(1));
+        slot.setPrice(500.0);
+        return slot;
+    }
+
+    private static BookingRequest request(Long slotId) {
+        BookingRequest request = new BookingRequest();
+        request.setSlotId(slotId);
+        request.setCustomerName("Outbox Customer");
+        request.setCustomerEmail("outbox@example.com");
+        request.setCustomerPhone("9876543210");
+        return request;
+    }
+
+    private BookingEvent payload(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(), BookingEvent.class);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(condition.getAsBoolean()).as("condition met within 10 seconds").isTrue();
+    }
+}
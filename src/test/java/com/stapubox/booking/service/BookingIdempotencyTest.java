@@ -0,0 +1,150 @@
+package com.stapubox.booking.service;
+
+import com.stapubox.booking.dto.BookingRequest;
+import com.stapubox.booking.dto.BookingResponse;
+import com.stapubox.booking.dto.SlotRequest;
+import com.stapubox.booking.dto.VenueRequest;
+import com.stapubox.booking.model.Sport;
+import com.stapubox.booking.repository.BookingRepository;
+import com.stapubox.booking.repository.SportRepository;
+import com.stapubox.booking.shard.ShardRouter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Idempotency-Key handling of {@link BookingService#createBooking(BookingRequest, String)}
+ * on a single database.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BookingIdempotencyTest {
+    @Autowired
+    private SportRepository sportRepository;
+    @Autowired
+    private VenueService venueService;
+    @Autowired
+    private SlotService slotService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ShardRouter shardRouter;
+
+    private Long venueId;
+    private int nextHour = 6;
+
+    @BeforeAll
+    void seedVenue() {
+        sportRepository.save(new Sport(null, "idempotency-football", "Football", null));
+        VenueRequest venue = new VenueRequest();
+        venue.setName("Idempotency Arena");
+        venue.setLocation("Sector 1");
+        venue.setSportCode("idempotency-football");
+        venueId = venueService.createVenue(venue).id();
+    }
+
+    @Test
+    void replaysTheOriginalResponseForARetry() {
+        BookingRequest request = request(newSlot(), "Asha");
+        String key = UUID.randomUUID().toString();
+        long before = bookings();
+
+        BookingResponse first = bookingService.createBooking(request, key);
+        BookingResponse retry = bookingService.createBooking(request, key);
+
+        assertThat(retry).isEqualTo(first);
+        assertThat(bookings()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void rejectsAKeyReusedForADifferentRequest() {
+        String key = UUID.randomUUID().toString();
+        bookingService.createBooking(request(newSlot(), "Asha"), key);
+        long before = bookings();
+
+        assertThatThrownBy(() -> bookingService.createBooking(request(newSlot(), "Asha"), key))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("different booking request");
+        assertThat(bookings()).isEqualTo(before);
+    }
+
+    @Test
+    void concurrentDuplicatesGetOneBooking() throws Exception {
+        BookingRequest request = request(newSlot(), "Ravi");
+        String key = UUID.randomUUID().toString();
+        long before = bookings();
+
+        List<BookingResponse> responses = concurrently(8, () -> bookingService.createBooking(request, key));
+
+        assertThat(responses).hasSize(8);
+        assertThat(responses).extracting(BookingResponse::id).containsOnly(responses.get(0).id());
+        assertThat(bookings()).isEqualTo(before + 1);
+    }
+
+    private Long newSlot() {
+        SlotRequest slot = new SlotRequest();
+        slot.setSlotDate(LocalDate.now().plusDays(1));
+        slot.setStartTime(LocalTime.of(nextHour, 0));
+        slot.setEndTime(LocalTime.of(nextHour, 30));
+        slot.setPrice(500.0);
+        nextHour++;
+        return slotService.createSlot(venueId, slot).id();
+    }
+
+    private long bookings() {
+        return shardRouter.fanOut(shard -> List.of(bookingRepository.count())).stream()
+                .mapToLong(Long::longValue).sum();
+    }
+
+    static BookingRequest request(Long slotId, String customer) {
+        BookingRequest request = new BookingRequest();
+        request.setSlotId(slotId);
+        request.setCustomerName(customer);
+        request.setCustomerEmail(customer.toLowerCase() + "@example.com");
+        request.setCustomerPhone("9876543210");
+        return request;
+    }
+
+    /** Runs {@code call} on {@code threads} threads released together and returns every result. */
+    static <T> List<T> concurrently(int threads, Callable<T> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return call.call();
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.stapubox.booking.service;
+
+import com.stapubox.booking.config.BookingProperties;
+import com.stapubox.booking.dto.BookingRequest;
+import com.stapubox.booking.dto.BookingResponse;
+import com.stapubox.booking.dto.SlotRequest;
+import com.stapubox.booking.dto.VenueRequest;
+import com.stapubox.booking.model.Sport;
+import com.stapubox.booking.repository.BookingRepository;
+import com.stapubox.booking.repository.SportRepository;
+import com.stapubox.booking.shard.ShardRouter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.stapubox.booking.service.BookingIdempotencyTest.concurrently;
+import static com.stapubox.booking.service.BookingIdempotencyTest.request;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Idempotency-Key handling across two H2 shards, where a key and the slot it
+ * books may live on different databases.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.open-in-view=false",
+        "booking.sharding.enabled=true",
+        "booking.sharding.shards[0].url=jdbc:h2:mem:shard1-${random.uuid};MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=VALUE",
+        "booking.sharding.shards[0].username=sa"})
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ShardedBookingIdempotencyTest {
+    private static final String SPORT_CODE = "sharded-football";
+
+    @Autowired
+    private SportRepository sportRepository;
+    @Autowired
+    private VenueService venueService;
+    @Autowired
+    private SlotService slotService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ShardRouter shardRouter;
+    @Autowired
+    private BookingIdempotencyStore idempotencyStore;
+    @Autowired
+    private BookingProperties bookingProperties;
+
+    private final Long[] venueOnShard = new Long[2];
+    private int nextHour = 6;
+
+    @BeforeAll
+    void seedVenues() {
+        shardRouter.forEachShard(shard -> sportRepository.save(new Sport(null, SPORT_CODE, "Football", null)));
+        for (int i = 0; venueOnShard[0] == null || venueOnShard[1] == null; i++) {
+            String name = "Shard Arena " + i;
+            int shard = shardRouter.placeVenue(name, "Sector 1");
+            if (venueOnShard[shard] == null) {
+                VenueRequest venue = new VenueRequest();
+                venue.setName(name);
+                venue.setLocation("Sector 1");
+                venue.setSportCode(SPORT_CODE);
+                venueOnShard[shard] = venueService.createVenue(venue).id();
+            }
+        }
+    }
+
+    @Test
+    void rejectsAKeyReusedForASlotOnAnotherShard() {
+        for (int keyShard = 0; keyShard < 2; keyShard++) {
+            for (int firstShard = 0; firstShard < 2; firstShard++) {
+                String key = keyOnShard(keyShard);
+                bookingService.createBooking(request(slotOnShard(firstShard), "Asha"), key);
+                BookingRequest reused = request(slotOnShard(1 - firstShard), "Asha");
+                long before = bookings();
+
+                assertThatThrownBy(() -> bookingService.createBooking(reused, key))
+                        .isInstanceOf(IllegalArgumentException.class)
+                        .hasMessageContaining("different booking request");
+                assertThat(bookings()).isEqualTo(before);
+            }
+        }
+    }
+
+    @Test
+    void replaysARetryWhenTheKeyIsOnAnotherShard() {
+        BookingRequest request = request(slotOnShard(1), "Asha");
+        String key = keyOnShard(0);
+        long before = bookings();
+
+        BookingResponse first = bookingService.createBooking(request, key);
+        BookingResponse retry = bookingService.createBooking(request, key);
+
+        assertThat(retry).isEqualTo(first);
+        assertThat(bookings()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void concurrentDuplicatesAcrossShardsGetOneBooking() throws Exception {
+        BookingRequest request = request(slotOnShard(1), "Ravi");
+        String key = keyOnShard(0);
+        long before = bookings();
+
+        List<BookingResponse> responses = concurrently(8, () -> bookingService.createBooking(request, key));
+
+        assertThat(responses).extracting(BookingResponse::id).containsOnly(responses.get(0).id());
+        assertThat(bookings()).isEqualTo(before + 1);
+    }
+
+    @Test
+    void releasesTheKeyWhenTheBookingFails() {
+        Long taken = slotOnShard(1);
+        bookingService.createBooking(request(taken, "Meera"));
+        String key = keyOnShard(0);
+
+        assertThatThrownBy(() -> bookingService.createBooking(request(taken, "Asha"), key))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("already booked");
+        BookingResponse booked = bookingService.createBooking(request(slotOnShard(1), "Asha"), key);
+
+        assertThat(booked.customerName()).isEqualTo("Asha");
+    }
+
+    @Test
+    void aRetryWaitsForThePendingKeyAndGetsItsResponse() throws Exception {
+        BookingRequest request = request(slotOnShard(1), "Kiran");
+        String key = keyOnShard(0);
+        String hash = requestHash(request);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<BookingResponse> first = pendingBooking(key, hash, request, release);
+        awaitPending(key, hash);
+
+        CompletableFuture<BookingResponse> retry = CompletableFuture.supplyAsync(
+                () -> bookingService.createBooking(request, key));
+        Thread.sleep(200);
+        assertThat(retry).isNotDone();
+        release.countDown();
+
+        assertThat(retry.get(10, TimeUnit.SECONDS)).isEqualTo(first.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void aRetryGivesUpOnAKeyPendingForTooLong() throws Exception {
+        BookingRequest request = request(slotOnShard(1), "Kiran");
+        String key = keyOnShard(0);
+        String hash = requestHash(request);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<BookingResponse> first = pendingBooking(key, hash, request, release);
+        Duration pendingWait = bookingProperties.getIdempotency().getPendingWait();
+        try {
+            awaitPending(key, hash);
+            bookingProperties.getIdempotency().setPendingWait(Duration.ofMillis(200));
+
+            assertThatThrownBy(() -> bookingService.createBooking(request, key))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("still in progress");
+        } finally {
+            bookingProperties.getIdempotency().setPendingWait(pendingWait);
+            release.countDown();
+        }
+        assertThat(bookingService.createBooking(request, key)).isEqualTo(first.get(10, TimeUnit.SECONDS));
+    }
+
+    /** Starts a cross-shard booking whose key is committed as pending and that books only once released. */
+    private CompletableFuture<BookingResponse> pendingBooking(String key, String hash, BookingRequest request,
+                                                              CountDownLatch release) {
+        return CompletableFuture.supplyAsync(() -> shardRouter.onShard(0, () ->
+                idempotencyStore.recordAround(key, hash, () -> {
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return bookingService.createBooking(request);
+                })));
+    }
+
+    private void awaitPending(String key, String hash) throws InterruptedException {
+        Duration pendingWait = bookingProperties.getIdempotency().getPendingWait();
+        bookingProperties.getIdempotency().setPendingWait(Duration.ZERO);
+        try {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (System.nanoTime() < deadline) {
+                try {
+                    shardRouter.onShard(0, () -> idempotencyStore.find(key, hash));
+                } catch (IllegalStateException pending) {
+                    return;
+                }
+                Thread.sleep(10);
+            }
+            throw new AssertionError("Key " + key + " never became pending");
+        } finally {
+            bookingProperties.getIdempotency().setPendingWait(pendingWait);
+        }
+    }
+
+    private static String requestHash(BookingRequest request) {
+        return BookingIdempotencyStore.hash(request.getSlotId(), request.getCustomerName(), request.getCustomerEmail(),
+                request.getCustomerPhone());
+    }
+
+    private String keyOnShard(int shard) {
+        String key;
+        do {
+            key = UUID.randomUUID().toString();
+        } while (shardRouter.placeIdempotencyKey(key) != shard);
+        return key;
+    }
+
+    private Long slotOnShard(int shard) {
+        SlotRequest slot = new SlotRequest();
+        slot.setSlotDate(LocalDate.now().plusDays(1 + nextHour / 24));
+        slot.setStartTime(LocalTime.of(nextHour % 24, 0));
+        slot.setEndTime(LocalTime.of(nextHour % 24, 30));
+        slot.setPrice(500.0);
+        nextHour++;
+        Long slotId = slotService.createSlot(venueOnShard[shard], slot).id();
+        assertThat(shardRouter.shardOf(slotId)).isEqualTo(shard);
+        return slotId;
+    }
+
+    private long bookings() {
+        return shardRouter.fanOut(shard -> List.of(bookingRepository.count())).stream()
+                .mapToLong(Long::longValue).sum();
+    }
+}
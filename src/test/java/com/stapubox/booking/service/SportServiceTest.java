@@ -0,0 +1,192 @@
+package com.stapubox.booking.service;
+
+import com.stapubox.booking.model.Sport;
+import com.stapubox.booking.repository.SportRepository;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs SportService against a local HTTP stub standing in for the sports API.
+ */
+class SportServiceTest {
+    private static final String FOOTBALL = """
+            {"data":[{"sport_id":"1","sport_code":"7061509","sport_name":"football"}]}""";
+    private static final String FOOTBALL_AND_BADMINTON = """
+            {"data":[{"sport_id":"1","sport_code":"7061509","sport_name":"football"},
+                     {"sport_id":"2","sport_code":"7020104","sport_name":"badminton"}]}""";
+
+    private final SportRepository sportRepository = mock(SportRepository.class);
+    private final AtomicReference<String> body = new AtomicReference<>(FOOTBALL);
+    private final AtomicInteger status = new AtomicInteger(200);
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile CountDownLatch release = new CountDownLatch(0);
+    private HttpServer upstream;
+
+    @BeforeEach
+    void startUpstream() throws IOException {
+        upstream = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        upstream.createContext("/sports", exchange -> {
+            requests.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] bytes = body.get().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status.get(), bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        });
+        upstream.start();
+    }
+
+    @AfterEach
+    void stopUpstream() {
+        upstream.stop(0);
+    }
+
+    @Test
+    void loadsCatalogFromUpstream() {
+        SportService sportService = sportService(Duration.ofMinutes(10), Duration.ofSeconds(30));
+
+        SportCatalog catalog = sportService.refreshCatalog();
+
+        assertThat(catalog.getSource()).isEqualTo(SportCatalog.Source.UPSTREAM);
+        assertThat(catalog.findByCode("7061509").getName()).isEqualTo("football");
+        assertThat(catalog.findById("1").getCode()).isEqualTo("7061509");
+        assertThat(sportService.isValidSportCode("7061509")).isTrue();
+        assertThat(sportService.isValidSportCode("9999999")).isFalse();
+        verifyNoInteractions(sportRepository);
+    }
+
+    @Test
+    void fallsBackToDatabaseWhenUpstreamFails() {
+        status.set(503);
+        when(sportRepository.findAll()).thenReturn(List.of(new Sport(10L, "7061509", "football", "1")));
+        SportService sportService = sportService(Duration.ofMinutes(10), Duration.ofSeconds(30));
+
+        SportCatalog catalog = sportService.refreshCatalog();
+
+        assertThat(catalog.getSource()).isEqualTo(SportCatalog.Source.DATABASE);
+        assertThat(catalog.findByCode("7061509").getName()).isEqualTo("football");
+        assertThat(catalog.findById("1").getCode()).isEqualTo("7061509");
+        assertThat(sportService.isValidSportCode("1")).isTrue();
+    }
+
+    @Test
+    void keepsLastCatalogWhenBothSourcesAreEmpty() {
+        SportService sportService = sportService(Duration.ofMinutes(10), Duration.ofSeconds(30));
+        sportService.refreshCatalog();
+        status.set(500);
+        when(sportRepository.findAll()).thenReturn(List.of());
+
+        SportCatalog catalog = sportService.refreshCatalog();
+
+        assertThat(catalog.getSource()).isEqualTo(SportCatalog.Source.UPSTREAM);
+        assertThat(catalog.contains("7061509")).isTrue();
+    }
+
+    @Test
+    void servesStaleCatalogWhileRefreshingInBackground() throws InterruptedException {
+        SportService sportService = sportService(Duration.ZERO, Duration.ZERO);
+        assertThat(sportService.refreshCatalog().size()).isEqualTo(1);
+        assertThat(requests.get()).isEqualTo(1);
+
+        body.set(FOOTBALL_AND_BADMINTON);
+        release = new CountDownLatch(1);
+        Thread.sleep(5);
+        // The upstream now hangs until released, so a blocking refresh would not return.
+        SportCatalog stale = sportService.getCatalog();
+
+        assertThat(stale.size()).isEqualTo(1);
+        assertThat(sportService.isValidSportCode("7020104")).isFalse();
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!sportService.isValidSportCode("7020104") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(sportService.isValidSportCode("7020104")).isTrue();
+        assertThat(requests.get()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void answersFromDatabaseWhileTheFirstLoadIsInFlight() throws InterruptedException {
+        when(sportRepository.findAll()).thenReturn(List.of(new Sport(10L, "7061509", "football", "1")));
+        body.set(FOOTBALL_AND_BADMINTON);
+        release = new CountDownLatch(1);
+        SportService sportService = sportService(Duration.ofMinutes(10), Duration.ZERO);
+
+        // The upstream hangs until released, yet every lookup returns at once.
+        for (int i = 0; i < 5; i++) {
+            assertThat(sportService.isValidSportCode("7061509")).isTrue();
+            assertThat(sportService.isValidSportCode("7020104")).isFalse();
+        }
+        assertThat(sportService.getCatalog().getSource()).isEqualTo(SportCatalog.Source.DATABASE);
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!sportService.isValidSportCode("7020104") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(sportService.getCatalog().getSource()).isEqualTo(SportCatalog.Source.UPSTREAM);
+        assertThat(requests.get()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentRefreshesShareOneUpstreamCall() throws Exception {
+        release = new CountDownLatch(1);
+        SportService sportService = sportService(Duration.ofMinutes(10), Duration.ofSeconds(30));
+        List<Thread> callers = new ArrayList<>();
+        List<SportCatalog> results = new CopyOnWriteArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            callers.add(new Thread(() -> results.add(sportService.refreshCatalog())));
+        }
+        callers.forEach(Thread::start);
+        sportService.scheduledRefresh();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (requests.get() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        // Give every caller time to join the refresh before it completes.
+        Thread.sleep(200);
+
+        release.countDown();
+        for (Thread caller : callers) {
+            caller.join(5_000);
+        }
+
+        assertThat(results).hasSize(4).allSatisfy(catalog -> assertThat(catalog).isSameAs(results.get(0)));
+        assertThat(requests.get()).isEqualTo(1);
+    }
+
+    private SportService sportService(Duration staleAfter, Duration retryAfter) {
+        String url = "http://127.0.0.1:" + upstream.getAddress().getPort() + "/sports";
+        return new SportService(sportRepository, new SimpleMeterRegistry(), url, Duration.ofSeconds(5),
+                staleAfter, retryAfter);
+    }
+}